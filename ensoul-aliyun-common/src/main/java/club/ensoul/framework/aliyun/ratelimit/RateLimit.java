@@ -0,0 +1,35 @@
+package club.ensoul.framework.aliyun.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * 单个API的限流配置
+ *
+ * @author wy_peng_chen6
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimit {
+
+    /**
+     * 每秒允许的调用次数
+     **/
+    private Double permitsPerSecond;
+
+    /**
+     * 允许的突发调用次数，默认为每秒允许的调用次数（至少为1）
+     **/
+    private Integer burst;
+
+    /**
+     * 获取不到令牌时的最长等待时间，超过时抛出{@link RateLimitExceededException}；
+     * 为0时不等待，不配置时一直等待
+     **/
+    private Duration maxWait;
+
+}
@@ -0,0 +1,22 @@
+package club.ensoul.framework.aliyun.ratelimit;
+
+import lombok.Getter;
+
+/**
+ * 自定义异常：在允许的等待时间内获取不到限流令牌
+ *
+ * @author wy_peng_chen6
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * 限流器名称
+     */
+    @Getter
+    private final String limiterName;
+
+    public RateLimitExceededException(String limiterName) {
+        super("Rate limit exceeded: " + limiterName);
+        this.limiterName = limiterName;
+    }
+}
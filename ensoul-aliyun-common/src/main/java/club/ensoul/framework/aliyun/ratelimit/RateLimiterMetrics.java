@@ -0,0 +1,38 @@
+package club.ensoul.framework.aliyun.ratelimit;
+
+import lombok.Value;
+
+/**
+ * 限流器的统计数据，从限流器创建开始累计
+ *
+ * @author wy_peng_chen6
+ */
+@Value
+public class RateLimiterMetrics {
+
+    /**
+     * 限流器名称
+     */
+    String name;
+
+    /**
+     * 获取成功的令牌数
+     */
+    long granted;
+
+    /**
+     * 获取成功但需要等待的令牌数
+     */
+    long waited;
+
+    /**
+     * 等待的总时间（纳秒）
+     */
+    long waitNanos;
+
+    /**
+     * 获取失败的令牌数
+     */
+    long rejected;
+
+}
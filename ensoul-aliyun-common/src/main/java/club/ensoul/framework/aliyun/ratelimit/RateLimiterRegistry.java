@@ -0,0 +1,93 @@
+package club.ensoul.framework.aliyun.ratelimit;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 按API名称配置的一组限流器。<br/>
+ * API名称使用阿里云OpenAPI的接口名称，如Push、MassPush、SendSms；没有配置限流的API不限流。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+public class RateLimiterRegistry {
+
+    private static final RateLimiterRegistry EMPTY = new RateLimiterRegistry(Collections.emptyMap());
+
+    private final Map<String, Entry> entries;
+
+    private RateLimiterRegistry(Map<String, Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * 不限流
+     */
+    public static RateLimiterRegistry empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param rateLimits API名称 -&gt; 限流配置
+     */
+    public static RateLimiterRegistry of(Map<String, RateLimit> rateLimits) {
+        if (rateLimits == null || rateLimits.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        rateLimits.forEach((api, rateLimit) -> {
+            Double permitsPerSecond = Objects.requireNonNull(rateLimit.getPermitsPerSecond(), "permitsPerSecond of " + api);
+            int burst = rateLimit.getBurst() != null ? rateLimit.getBurst() : (int) Math.max(1, Math.ceil(permitsPerSecond));
+            Duration maxWait = rateLimit.getMaxWait();
+            entries.put(api, new Entry(new TokenBucketRateLimiter(api, permitsPerSecond, burst), maxWait));
+        });
+        return new RateLimiterRegistry(Collections.unmodifiableMap(entries));
+    }
+
+    /**
+     * API的限流器，没有配置时返回null
+     */
+    public TokenBucketRateLimiter get(String api) {
+        Entry entry = entries.get(api);
+        return entry == null ? null : entry.limiter;
+    }
+
+    /**
+     * 调用API前获取一个令牌，按配置的最长等待时间等待
+     *
+     * @param api API名称
+     * @throws RateLimitExceededException 在最长等待时间内获取不到令牌
+     */
+    public void acquire(String api) {
+        Entry entry = entries.get(api);
+        if (entry == null) {
+            return;
+        }
+        if (entry.maxWait == null) {
+            entry.limiter.acquire();
+        } else if (!entry.limiter.tryAcquire(1, entry.maxWait)) {
+            throw new RateLimitExceededException(api);
+        }
+    }
+
+    /**
+     * 所有限流器的统计数据，API名称 -&gt; 统计数据
+     */
+    public Map<String, RateLimiterMetrics> getMetrics() {
+        Map<String, RateLimiterMetrics> metrics = new LinkedHashMap<>();
+        entries.forEach((api, entry) -> metrics.put(api, entry.limiter.getMetrics()));
+        return metrics;
+    }
+
+    private static final class Entry {
+        private final TokenBucketRateLimiter limiter;
+        private final Duration maxWait;
+
+        Entry(TokenBucketRateLimiter limiter, Duration maxWait) {
+            this.limiter = limiter;
+            this.maxWait = maxWait;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package club.ensoul.framework.aliyun.ratelimit;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁令牌桶限流器。<br/>
+ * 令牌以permitsPerSecond的速率生成，桶中最多积攒burst个令牌。内部只保存下一个令牌的理论可用时间，
+ * 获取令牌时用一次CAS预约，不加锁；需要等待时先预约再等待，等待中的调用之间按预约顺序排队。<br/>
+ * 支持三种获取方式：阻塞等待（{@link #acquire(int)}）、不等待或限时等待（{@link #tryAcquire(int, Duration)}）、
+ * 异步等待（{@link #acquireAsync(int, Duration)}）。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+public class TokenBucketRateLimiter {
+
+    /**
+     * 限流器名称，一般为API名称
+     */
+    @Getter
+    private final String name;
+
+    /**
+     * 生成一个令牌的时间
+     */
+    private final long intervalNanos;
+
+    /**
+     * 桶满时积攒的令牌对应的时间
+     */
+    private final long burstNanos;
+
+    /**
+     * 下一个令牌的理论可用时间，不大于当前时间时桶是满的
+     */
+    private final AtomicLong nextFreeNanos;
+
+    private final LongAdder granted = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name             限流器名称
+     * @param permitsPerSecond 每秒生成的令牌数
+     * @param burst            桶中最多积攒的令牌数，即允许的突发请求数
+     */
+    public TokenBucketRateLimiter(String name, double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Permits per second and burst must be greater than 0");
+        }
+        this.name = Objects.requireNonNull(name);
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.nextFreeNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 获取一个令牌，没有可用令牌时阻塞等待
+     *
+     * @see #acquire(int)
+     */
+    public long acquire() {
+        return acquire(1);
+    }
+
+    /**
+     * 获取令牌，没有足够的令牌时阻塞等待，等待不响应中断
+     *
+     * @param permits 令牌数
+     * @return 等待的时间（纳秒）
+     */
+    public long acquire(int permits) {
+        long wait = _reserve(permits, Long.MAX_VALUE);
+        if (wait > 0) {
+            Uninterruptibles.sleepUninterruptibly(wait, TimeUnit.NANOSECONDS);
+        }
+        return wait;
+    }
+
+    /**
+     * 获取一个令牌，不等待
+     *
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1, Duration.ZERO);
+    }
+
+    /**
+     * 获取令牌，需要等待的时间超过timeout时立即返回失败，不会等待后再失败
+     *
+     * @param permits 令牌数
+     * @param timeout 最长等待时间
+     * @return 是否获取成功
+     */
+    public boolean tryAcquire(int permits, Duration timeout) {
+        long wait = _reserve(permits, timeout.toNanos());
+        if (wait < 0) {
+            return false;
+        }
+        if (wait > 0) {
+            Uninterruptibles.sleepUninterruptibly(wait, TimeUnit.NANOSECONDS);
+        }
+        return true;
+    }
+
+    /**
+     * 异步获取令牌，不占用调用线程等待
+     *
+     * @param permits 令牌数
+     * @param timeout 最长等待时间，为null时不限制
+     * @return 获取到令牌时完成；需要等待的时间超过timeout时以{@link RateLimitExceededException}结束
+     */
+    public CompletableFuture<Void> acquireAsync(int permits, Duration timeout) {
+        long wait = _reserve(permits, timeout == null ? Long.MAX_VALUE : timeout.toNanos());
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (wait < 0) {
+            future.completeExceptionally(new RateLimitExceededException(name));
+        } else if (wait == 0) {
+            future.complete(null);
+        } else {
+            SchedulerHolder.SCHEDULER.schedule(() -> future.complete(null), wait, TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * 当前的统计数据
+     */
+    public RateLimiterMetrics getMetrics() {
+        return new RateLimiterMetrics(name, granted.sum(), waited.sum(), waitNanos.sum(), rejected.sum());
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    /**
+     * 预约令牌
+     *
+     * @return 需要等待的时间（纳秒），超过maxWaitNanos时不预约并返回-1
+     */
+    private long _reserve(int permits, long maxWaitNanos) {
+        if (permits < 1) {
+            throw new IllegalArgumentException("Permits must be greater than 0");
+        }
+        long cost = intervalNanos * permits;
+        while (true) {
+            long now = System.nanoTime();
+            long nextFree = nextFreeNanos.get();
+            long next = Math.max(nextFree, now) + cost;
+            long wait = Math.max(0L, next - now - burstNanos);
+            if (wait > maxWaitNanos) {
+                rejected.add(permits);
+                return -1;
+            }
+            if (nextFreeNanos.compareAndSet(nextFree, next)) {
+                granted.add(permits);
+                if (wait > 0) {
+                    waited.add(permits);
+                    waitNanos.add(wait);
+                }
+                return wait;
+            }
+        }
+    }
+
+    private static final class SchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "aliyun-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
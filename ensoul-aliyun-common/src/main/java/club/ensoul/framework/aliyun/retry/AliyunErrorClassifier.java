@@ -0,0 +1,67 @@
+package club.ensoul.framework.aliyun.retry;
+
+import club.ensoul.framework.aliyun.ratelimit.RateLimitExceededException;
+import com.aliyun.tea.TeaException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.function.Function;
+
+/**
+ * 按异常链对阿里云SDK抛出的异常分类。<br/>
+ * 请求没有发出（连接失败、本地限流）时一定可以重试；请求已发出但没有收到响应（如读超时）时服务端可能已经处理，
+ * 只有幂等的调用才可以重试；服务端返回的错误码交给codeClassifier分类。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+public final class AliyunErrorClassifier {
+
+    private AliyunErrorClassifier() {
+    }
+
+    /**
+     * @param e              SDK抛出的异常，可以被包装
+     * @param idempotent     调用是否幂等
+     * @param codeClassifier 服务端错误码的分类，如各模块的ResultCode
+     */
+    public static ErrorCategory classify(Throwable e, boolean idempotent, Function<String, ErrorCategory> codeClassifier) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RateLimitExceededException) {
+                return ErrorCategory.THROTTLING;
+            }
+            if (_isNotSent(t)) {
+                return ErrorCategory.TRANSIENT;
+            }
+            if (t instanceof IOException) {
+                return idempotent ? ErrorCategory.TRANSIENT : ErrorCategory.PERMANENT;
+            }
+            if (t instanceof TeaException && ((TeaException) t).getCode() != null) {
+                return codeClassifier.apply(((TeaException) t).getCode());
+            }
+        }
+        return ErrorCategory.PERMANENT;
+    }
+
+    /**
+     * 调用失败时服务端是否可能已经处理了请求：请求没有发出或者被限流时为false
+     */
+    public static boolean mayHaveSucceeded(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof RateLimitExceededException || _isNotSent(t)) {
+                return false;
+            }
+            if (t instanceof TeaException && ((TeaException) t).getCode() != null) {
+                return ErrorCategory.ofGatewayCode(((TeaException) t).getCode()) != ErrorCategory.THROTTLING;
+            }
+        }
+        return true;
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private static boolean _isNotSent(Throwable t) {
+        return t instanceof ConnectException || t instanceof UnknownHostException || t instanceof NoRouteToHostException;
+    }
+}
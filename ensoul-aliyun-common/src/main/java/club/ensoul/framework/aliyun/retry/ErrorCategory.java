@@ -0,0 +1,47 @@
+package club.ensoul.framework.aliyun.retry;
+
+/**
+ * 阿里云接口调用失败的分类，用于决定是否重试
+ *
+ * @author wy_peng_chen6
+ */
+public enum ErrorCategory {
+
+    /**
+     * 被限流，退避后重试
+     */
+    THROTTLING,
+
+    /**
+     * 临时故障，如系统错误、网络连接失败，退避后重试
+     */
+    TRANSIENT,
+
+    /**
+     * 重试也不会成功，如参数错误、权限不足、余额不足
+     */
+    PERMANENT,
+
+    ;
+
+    public boolean isRetryable() {
+        return this != PERMANENT;
+    }
+
+    /**
+     * 按阿里云OpenAPI网关的公共错误码分类，如Throttling.User、ServiceUnavailable，未知的错误码为{@link #PERMANENT}。<br/>
+     * SignatureNonceUsed是签名随机数重复，SDK每次调用都会生成新的随机数，重试即可
+     */
+    public static ErrorCategory ofGatewayCode(String code) {
+        if (code == null) {
+            return PERMANENT;
+        }
+        if (code.startsWith("Throttling")) {
+            return THROTTLING;
+        }
+        if (code.startsWith("ServiceUnavailable") || code.startsWith("InternalError") || code.equals("SignatureNonceUsed")) {
+            return TRANSIENT;
+        }
+        return PERMANENT;
+    }
+}
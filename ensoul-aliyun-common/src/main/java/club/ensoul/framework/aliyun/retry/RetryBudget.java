@@ -0,0 +1,78 @@
+package club.ensoul.framework.aliyun.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 全局重试预算，限制重试次数占调用次数的比例，避免服务端故障时重试放大请求量。<br/>
+ * 每次调用存入ratio个令牌，每次重试取出一个令牌，令牌不足时不再重试；令牌最多积攒capacity个，初始是满的。
+ * 无锁实现，令牌数按千分之一计数。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+public class RetryBudget {
+
+    private static final long SCALE = 1000L;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+
+    /**
+     * @param ratio    重试次数最多占调用次数的比例，如0.1
+     * @param capacity 最多积攒的重试次数，用于调用量少时的突发重试
+     */
+    public RetryBudget(double ratio, int capacity) {
+        if (ratio < 0 || capacity < 0) {
+            throw new IllegalArgumentException("Ratio and capacity must not be negative");
+        }
+        this.deposit = (long) (ratio * SCALE);
+        this.capacity = capacity * SCALE;
+        this.balance = new AtomicLong(this.capacity);
+    }
+
+    /**
+     * 记录一次调用，重试不算
+     */
+    public void onRequest() {
+        if (deposit == 0) {
+            return;
+        }
+        balance.accumulateAndGet(deposit, (current, x) -> Math.min(capacity, current + x));
+    }
+
+    /**
+     * 尝试取出一次重试的预算
+     *
+     * @return 是否可以重试
+     */
+    public boolean tryRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                exhausted.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                retries.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 已经重试的次数
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * 因为预算不足放弃重试的次数
+     */
+    public long getExhausted() {
+        return exhausted.sum();
+    }
+}
@@ -0,0 +1,53 @@
+package club.ensoul.framework.aliyun.retry;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+/**
+ * 重试配置
+ *
+ * @author wy_peng_chen6
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RetryConfig {
+
+    /**
+     * 最多尝试的次数，包括第一次调用，为1时不重试
+     **/
+    private Integer maxAttempts = 3;
+
+    /**
+     * 重试前的最短等待时间
+     **/
+    private Duration baseDelay = Duration.ofMillis(100);
+
+    /**
+     * 重试前的最长等待时间
+     **/
+    private Duration maxDelay = Duration.ofSeconds(5);
+
+    /**
+     * 重试次数最多占调用次数的比例
+     **/
+    private Double budgetRatio = 0.1;
+
+    /**
+     * 最多积攒的重试次数，用于调用量少时的突发重试
+     **/
+    private Integer budgetCapacity = 100;
+
+    /**
+     * 不重试的配置，其余配置为默认值，将maxAttempts配置为大于1时开启重试
+     */
+    public static RetryConfig disabled() {
+        RetryConfig config = new RetryConfig();
+        config.setMaxAttempts(1);
+        return config;
+    }
+
+}
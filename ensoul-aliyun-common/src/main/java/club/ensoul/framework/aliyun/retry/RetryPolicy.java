@@ -0,0 +1,134 @@
+package club.ensoul.framework.aliyun.retry;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 阿里云接口调用的重试策略。<br/>
+ * 只重试{@link ErrorCategory#isRetryable()}的失败，两次尝试之间按decorrelated jitter退避：
+ * 等待时间在[baseDelay, 上次等待时间 * 3]中随机，且不超过maxDelay；每次重试还需要从{@link RetryBudget}中取出预算，
+ * 预算不足时直接返回最后一次失败。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+@Slf4j
+public class RetryPolicy {
+
+    private static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, new RetryBudget(0, 0));
+
+    /**
+     * 最多尝试的次数，包括第一次调用
+     */
+    @Getter
+    private final int maxAttempts;
+
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+
+    @Getter
+    private final RetryBudget budget;
+
+    /**
+     * @param maxAttempts 最多尝试的次数，包括第一次调用
+     * @param baseDelay   最短等待时间
+     * @param maxDelay    最长等待时间
+     * @param budget      重试预算，可以在多个策略间共享
+     */
+    public RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, RetryBudget budget) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be greater than 0");
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = Math.max(baseDelayNanos, maxDelay.toNanos());
+        this.budget = Objects.requireNonNull(budget);
+    }
+
+    /**
+     * 不重试
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    public static RetryPolicy of(RetryConfig config) {
+        if (config == null || config.getMaxAttempts() == null || config.getMaxAttempts() <= 1) {
+            return NONE;
+        }
+        RetryBudget budget = new RetryBudget(config.getBudgetRatio(), config.getBudgetCapacity());
+        return new RetryPolicy(config.getMaxAttempts(), config.getBaseDelay(), config.getMaxDelay(), budget);
+    }
+
+    /**
+     * 调用并按需重试
+     *
+     * @param call             一次调用
+     * @param errorClassifier  调用抛出异常时的分类
+     * @param resultClassifier 调用返回时的分类，返回null表示成功；用于错误码在返回结果中的接口
+     * @return 成功的结果；不再重试时返回最后一次的结果
+     * @throws Exception 不再重试时抛出最后一次的异常
+     */
+    public <T> T execute(Callable<T> call, Function<? super Exception, ErrorCategory> errorClassifier,
+                         Function<? super T, ErrorCategory> resultClassifier) throws Exception {
+        budget.onRequest();
+        long delay = baseDelayNanos;
+        for (int attempt = 1; ; attempt++) {
+            T result = null;
+            Exception error = null;
+            ErrorCategory category;
+            try {
+                result = call.call();
+                category = resultClassifier.apply(result);
+                if (category == null) {
+                    return result;
+                }
+            } catch (Exception e) {
+                error = e;
+                category = errorClassifier.apply(e);
+            }
+            if (!category.isRetryable() || attempt >= maxAttempts || !budget.tryRetry()) {
+                if (error != null) {
+                    throw error;
+                }
+                return result;
+            }
+            delay = nextDelayNanos(delay);
+            log.warn("aliyun call failed ({}), retry {} after {}ms", category, attempt, TimeUnit.NANOSECONDS.toMillis(delay), error);
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (error != null) {
+                    throw error;
+                }
+                return result;
+            }
+        }
+    }
+
+    /**
+     * 下一次重试前的等待时间：在[baseDelay, 上次等待时间 * 3]中随机，且不超过maxDelay
+     *
+     * @param previousDelayNanos 上次的等待时间，第一次重试时为baseDelay
+     */
+    long nextDelayNanos(long previousDelayNanos) {
+        long upper = Math.max(baseDelayNanos, previousDelayNanos * 3);
+        return Math.min(maxDelayNanos, ThreadLocalRandom.current().nextLong(baseDelayNanos, upper + 1));
+    }
+
+    /**
+     * 调用并按需重试，调用的返回结果都视为成功
+     *
+     * @see #execute(Callable, Function, Function)
+     */
+    public <T> T execute(Callable<T> call, Function<? super Exception, ErrorCategory> errorClassifier) throws Exception {
+        return execute(call, errorClassifier, result -> null);
+    }
+}
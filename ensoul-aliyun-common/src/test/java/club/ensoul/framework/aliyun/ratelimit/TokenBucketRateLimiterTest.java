@@ -0,0 +1,130 @@
+package club.ensoul.framework.aliyun.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wy_peng_chen6
+ */
+public class TokenBucketRateLimiterTest {
+
+    @Test
+    public void burstThenReject() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("Push", 1, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire(), "桶满时允许burst个突发请求");
+        }
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire(1, Duration.ofMillis(100)), "需要等待约1秒，超过timeout立即失败");
+
+        RateLimiterMetrics metrics = limiter.getMetrics();
+        assertEquals("Push", metrics.getName());
+        assertEquals(3, metrics.getGranted());
+        assertEquals(0, metrics.getWaited());
+        assertEquals(2, metrics.getRejected());
+    }
+
+    @Test
+    public void acquireWaitsForNextPermit() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("Push", 20, 1);
+
+        assertEquals(0, limiter.acquire());
+        long start = System.nanoTime();
+        long wait = limiter.acquire();
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(wait > 0 && wait <= TimeUnit.MILLISECONDS.toNanos(50), "wait " + wait);
+        assertTrue(elapsed >= wait, "acquire returned before the reserved time");
+
+        RateLimiterMetrics metrics = limiter.getMetrics();
+        assertEquals(2, metrics.getGranted());
+        assertEquals(1, metrics.getWaited());
+        assertEquals(wait, metrics.getWaitNanos());
+    }
+
+    @Test
+    public void acquireAsync() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("Push", 20, 1);
+        assertTrue(limiter.acquireAsync(1, Duration.ZERO).isDone());
+
+        CompletableFuture<Void> rejected = limiter.acquireAsync(1, Duration.ZERO);
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(e.getCause() instanceof RateLimitExceededException);
+
+        CompletableFuture<Void> delayed = limiter.acquireAsync(1, Duration.ofSeconds(1));
+        assertFalse(delayed.isDone(), "需要等待时不在调用线程等待");
+        delayed.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void concurrentAcquireGrantsExactlyBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("Push", 0.1, 100);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 50; j++) {
+                    if (limiter.tryAcquire()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, granted.get());
+        assertEquals(100, limiter.getMetrics().getGranted());
+        assertEquals(300, limiter.getMetrics().getRejected());
+    }
+
+    @Test
+    public void registry() {
+        Map<String, RateLimit> rateLimits = new HashMap<>();
+        rateLimits.put("SendSms", new RateLimit(1.0, 2, Duration.ZERO));
+        RateLimiterRegistry registry = RateLimiterRegistry.of(rateLimits);
+
+        registry.acquire("SendSms");
+        registry.acquire("SendSms");
+        RateLimitExceededException e = assertThrows(RateLimitExceededException.class, () -> registry.acquire("SendSms"));
+        assertEquals("SendSms", e.getLimiterName());
+
+        for (int i = 0; i < 100; i++) {
+            registry.acquire("QuerySendDetails");
+        }
+        assertNull(registry.get("QuerySendDetails"), "没有配置的API不限流");
+        assertEquals(Collections.singleton("SendSms"), registry.getMetrics().keySet());
+        assertSame(RateLimiterRegistry.empty(), RateLimiterRegistry.of(Collections.emptyMap()));
+    }
+
+    @Test
+    public void defaultBurstIsPermitsPerSecond() {
+        RateLimiterRegistry registry = RateLimiterRegistry.of(Collections.singletonMap("Push", new RateLimit(5.0, null, Duration.ZERO)));
+
+        for (int i = 0; i < 5; i++) {
+            registry.acquire("Push");
+        }
+        assertThrows(RateLimitExceededException.class, () -> registry.acquire("Push"));
+    }
+}
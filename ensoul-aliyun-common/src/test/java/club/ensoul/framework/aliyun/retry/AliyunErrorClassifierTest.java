@@ -0,0 +1,95 @@
+package club.ensoul.framework.aliyun.retry;
+
+import club.ensoul.framework.aliyun.ratelimit.RateLimitExceededException;
+import com.aliyun.tea.TeaException;
+import com.aliyun.tea.TeaRetryableException;
+import com.aliyun.tea.TeaUnretryableException;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wy_peng_chen6
+ */
+public class AliyunErrorClassifierTest {
+
+    @Test
+    public void rateLimitedLocally() {
+        Exception e = new RuntimeException(new RateLimitExceededException("SendSms"));
+
+        assertEquals(ErrorCategory.THROTTLING, AliyunErrorClassifier.classify(e, false, ErrorCategory::ofGatewayCode));
+        assertFalse(AliyunErrorClassifier.mayHaveSucceeded(e));
+    }
+
+    @Test
+    public void notSentIsAlwaysRetryable() {
+        Exception connect = _sdkIoError(new ConnectException("Connection refused"));
+        Exception unknownHost = _sdkIoError(new UnknownHostException("dysmsapi.aliyuncs.com"));
+
+        for (Exception e : new Exception[]{connect, unknownHost}) {
+            assertEquals(ErrorCategory.TRANSIENT, AliyunErrorClassifier.classify(e, false, ErrorCategory::ofGatewayCode));
+            assertEquals(ErrorCategory.TRANSIENT, AliyunErrorClassifier.classify(e, true, ErrorCategory::ofGatewayCode));
+            assertFalse(AliyunErrorClassifier.mayHaveSucceeded(e));
+        }
+    }
+
+    @Test
+    public void readTimeoutRetryableOnlyWhenIdempotent() {
+        Exception e = _sdkIoError(new SocketTimeoutException("Read timed out"));
+
+        assertEquals(ErrorCategory.TRANSIENT, AliyunErrorClassifier.classify(e, true, ErrorCategory::ofGatewayCode));
+        assertEquals(ErrorCategory.PERMANENT, AliyunErrorClassifier.classify(e, false, ErrorCategory::ofGatewayCode));
+        assertTrue(AliyunErrorClassifier.mayHaveSucceeded(e));
+    }
+
+    @Test
+    public void serverCodeClassifiedByCodeClassifier() {
+        Exception throttled = new TeaUnretryableException(_teaException("Throttling.User"));
+        assertEquals(ErrorCategory.THROTTLING, AliyunErrorClassifier.classify(throttled, false, ErrorCategory::ofGatewayCode));
+        assertFalse(AliyunErrorClassifier.mayHaveSucceeded(throttled));
+
+        Exception systemError = _teaException("isp.SYSTEM_ERROR");
+        assertEquals(ErrorCategory.PERMANENT, AliyunErrorClassifier.classify(systemError, false, ErrorCategory::ofGatewayCode));
+        assertEquals(ErrorCategory.TRANSIENT, AliyunErrorClassifier.classify(systemError, false,
+                code -> "isp.SYSTEM_ERROR".equals(code) ? ErrorCategory.TRANSIENT : ErrorCategory.ofGatewayCode(code)));
+        assertTrue(AliyunErrorClassifier.mayHaveSucceeded(systemError));
+    }
+
+    @Test
+    public void unknownErrorIsPermanent() {
+        Exception e = new IllegalStateException("unknown");
+
+        assertEquals(ErrorCategory.PERMANENT, AliyunErrorClassifier.classify(e, true, ErrorCategory::ofGatewayCode));
+        assertTrue(AliyunErrorClassifier.mayHaveSucceeded(e));
+    }
+
+    @Test
+    public void gatewayCode() {
+        assertEquals(ErrorCategory.THROTTLING, ErrorCategory.ofGatewayCode("Throttling"));
+        assertEquals(ErrorCategory.THROTTLING, ErrorCategory.ofGatewayCode("Throttling.Api"));
+        assertEquals(ErrorCategory.TRANSIENT, ErrorCategory.ofGatewayCode("ServiceUnavailable"));
+        assertEquals(ErrorCategory.TRANSIENT, ErrorCategory.ofGatewayCode("InternalError"));
+        assertEquals(ErrorCategory.TRANSIENT, ErrorCategory.ofGatewayCode("SignatureNonceUsed"));
+        assertEquals(ErrorCategory.PERMANENT, ErrorCategory.ofGatewayCode("SignatureDoesNotMatch"));
+        assertEquals(ErrorCategory.PERMANENT, ErrorCategory.ofGatewayCode(null));
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    /**
+     * SDK对IO异常的包装方式
+     */
+    private static Exception _sdkIoError(Exception cause) {
+        return new TeaUnretryableException(new TeaRetryableException(cause));
+    }
+
+    private static TeaException _teaException(String code) {
+        TeaException e = new TeaException();
+        e.setCode(code);
+        return e;
+    }
+}
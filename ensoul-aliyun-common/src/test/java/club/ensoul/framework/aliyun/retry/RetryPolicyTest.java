@@ -0,0 +1,173 @@
+package club.ensoul.framework.aliyun.retry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author wy_peng_chen6
+ */
+public class RetryPolicyTest {
+
+    private static final Duration BASE = Duration.ofMillis(10);
+    private static final Duration MAX = Duration.ofMillis(100);
+
+    @Test
+    public void retryUntilSuccess() throws Exception {
+        RetryPolicy policy = _fastPolicy(3, new RetryBudget(0.1, 100));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = policy.execute(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("transient");
+            }
+            return "ok";
+        }, e -> ErrorCategory.TRANSIENT);
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, policy.getBudget().getRetries());
+    }
+
+    @Test
+    public void stopAtMaxAttempts() {
+        RetryPolicy policy = _fastPolicy(4, new RetryBudget(0.1, 100));
+        AtomicInteger attempts = new AtomicInteger();
+        IllegalStateException error = new IllegalStateException("transient");
+
+        Exception thrown = assertThrows(IllegalStateException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw error;
+        }, e -> ErrorCategory.THROTTLING));
+
+        assertSame(error, thrown);
+        assertEquals(4, attempts.get());
+    }
+
+    @Test
+    public void noRetryForPermanentError() {
+        RetryPolicy policy = _fastPolicy(3, new RetryBudget(0.1, 100));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalArgumentException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalArgumentException("permanent");
+        }, e -> ErrorCategory.PERMANENT));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, policy.getBudget().getRetries());
+    }
+
+    @Test
+    public void retryByResultClassifier() throws Exception {
+        RetryPolicy policy = _fastPolicy(3, new RetryBudget(0.1, 100));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = policy.execute(() -> attempts.incrementAndGet() < 2 ? "busy" : "ok",
+                e -> ErrorCategory.PERMANENT,
+                r -> "ok".equals(r) ? null : ErrorCategory.TRANSIENT);
+        assertEquals("ok", result);
+        assertEquals(2, attempts.get());
+
+        attempts.set(0);
+        result = policy.execute(() -> "busy-" + attempts.incrementAndGet(),
+                e -> ErrorCategory.PERMANENT,
+                r -> ErrorCategory.TRANSIENT);
+        assertEquals("busy-3", result, "不再重试时返回最后一次的结果");
+    }
+
+    @Test
+    public void jitterWithinBounds() {
+        RetryPolicy policy = new RetryPolicy(3, BASE, MAX, new RetryBudget(0.1, 100));
+        long base = BASE.toNanos();
+        long max = MAX.toNanos();
+
+        for (long previous : new long[]{base, 2 * base, 5 * base, max}) {
+            Set<Long> delays = new HashSet<>();
+            for (int i = 0; i < 1000; i++) {
+                long delay = policy.nextDelayNanos(previous);
+                assertTrue(delay >= base, "delay " + delay + " < base");
+                assertTrue(delay <= Math.min(max, previous * 3), "delay " + delay + " > min(max, previous * 3)");
+                delays.add(delay);
+            }
+            assertTrue(delays.size() > 1, "delay is not jittered");
+        }
+    }
+
+    @Test
+    public void delayGrowsAndIsCapped() {
+        RetryPolicy policy = new RetryPolicy(3, BASE, MAX, new RetryBudget(0.1, 100));
+        long delay = BASE.toNanos();
+        long longest = delay;
+        for (int i = 0; i < 50; i++) {
+            delay = policy.nextDelayNanos(delay);
+            assertTrue(delay <= MAX.toNanos());
+            longest = Math.max(longest, delay);
+        }
+        assertTrue(longest > 3 * BASE.toNanos(), "delay does not grow beyond the first window");
+    }
+
+    @Test
+    public void stopWhenBudgetExhausted() {
+        RetryBudget budget = new RetryBudget(0, 2);
+        RetryPolicy policy = _fastPolicy(5, budget);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("transient");
+        }, e -> ErrorCategory.TRANSIENT));
+        assertEquals(3, attempts.get(), "两次预算用完后不再重试");
+        assertEquals(2, budget.getRetries());
+        assertEquals(1, budget.getExhausted());
+
+        attempts.set(0);
+        assertThrows(IllegalStateException.class, () -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("transient");
+        }, e -> ErrorCategory.TRANSIENT));
+        assertEquals(1, attempts.get());
+        assertEquals(2, budget.getExhausted());
+    }
+
+    @Test
+    public void budgetRefilledByRequests() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+
+        budget.onRequest();
+        assertFalse(budget.tryRetry(), "一次调用只存入半次重试");
+        budget.onRequest();
+        assertTrue(budget.tryRetry());
+
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry(), "最多积攒capacity次重试");
+    }
+
+    @Test
+    public void noneAndDisabledConfigDoNotRetry() {
+        assertEquals(1, RetryPolicy.none().getMaxAttempts());
+        assertSame(RetryPolicy.none(), RetryPolicy.of(null));
+
+        RetryConfig config = new RetryConfig();
+        config.setMaxAttempts(1);
+        assertSame(RetryPolicy.none(), RetryPolicy.of(config));
+
+        assertEquals(3, RetryPolicy.of(new RetryConfig()).getMaxAttempts());
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private static RetryPolicy _fastPolicy(int maxAttempts, RetryBudget budget) {
+        return new RetryPolicy(maxAttempts, Duration.ZERO, Duration.ofMillis(1), budget);
+    }
+}
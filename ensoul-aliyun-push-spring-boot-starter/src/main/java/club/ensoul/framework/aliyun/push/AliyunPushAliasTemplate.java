@@ -2,6 +2,7 @@ package club.ensoul.framework.aliyun.push;
 
 import club.ensoul.framework.aliyun.push.domain.PushAliasResult;
 import club.ensoul.framework.aliyun.push.exception.AliyunPushException;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
 import com.aliyun.push20160801.Client;
 import com.aliyun.push20160801.models.*;
 import lombok.Getter;
@@ -9,6 +10,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -17,8 +21,42 @@ public class AliyunPushAliasTemplate {
     @Getter
     private static Client client;
 
+    /**
+     * 异步方法使用的线程池
+     */
+    @Getter
+    private final Executor executor;
+
+    /**
+     * 调用API前按API名称限流
+     */
+    @Getter
+    private final RateLimiterRegistry rateLimiters;
+
+    /**
+     * 异步方法使用{@link PushExecutors#defaultExecutor()}
+     */
     public AliyunPushAliasTemplate(Client client) {
+        this(client, PushExecutors.defaultExecutor());
+    }
+
+    /**
+     * @param client   推送客户端
+     * @param executor 异步方法使用的线程池
+     */
+    public AliyunPushAliasTemplate(Client client, Executor executor) {
+        this(client, executor, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       推送客户端
+     * @param executor     异步方法使用的线程池
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunPushAliasTemplate(Client client, Executor executor, RateLimiterRegistry rateLimiters) {
         AliyunPushAliasTemplate.client = client;
+        this.executor = Objects.requireNonNull(executor);
+        this.rateLimiters = Objects.requireNonNull(rateLimiters);
     }
 
     /**
@@ -33,6 +71,7 @@ public class AliyunPushAliasTemplate {
         request.setAppKey(appKey);
         request.setDeviceId(deviceId);
         try {
+            rateLimiters.acquire("QueryAliases");
             QueryAliasesResponse response = client.queryAliases(request);
             QueryAliasesResponseBody body = response.getBody();
             List<String> aliasNames = new ArrayList<>();
@@ -74,6 +113,7 @@ public class AliyunPushAliasTemplate {
         request.setDeviceId(deviceId);
         request.setAliasName(aliasName);
         try {
+            rateLimiters.acquire("BindAlias");
             BindAliasResponse response = client.bindAlias(request);
             BindAliasResponseBody body = response.getBody();
             return PushAliasResult.builder().requestId(body.requestId).build();
@@ -137,6 +177,7 @@ public class AliyunPushAliasTemplate {
         request.setAliasName(aliasName);
         request.setUnbindAll(unbindAll);
         try {
+            rateLimiters.acquire("UnbindAlias");
             UnbindAliasResponse response = client.unbindAlias(request);
             UnbindAliasResponseBody body = response.getBody();
             return PushAliasResult.builder().requestId(body.requestId).build();
@@ -145,4 +186,55 @@ public class AliyunPushAliasTemplate {
         }
     }
 
+    /*-------------------------------异步方法-------------------------------*/
+
+    /**
+     * 异步{@link #queryAliass(Long, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushAliasResult> queryAliassAsync(Long appKey, String deviceId) {
+        return PushExecutors.supplyAsync(() -> queryAliass(appKey, deviceId), executor);
+    }
+
+    /**
+     * 异步{@link #bindAliass(Long, String, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushAliasResult> bindAliassAsync(Long appKey, String deviceId, Iterable<String> aliasNames) {
+        return PushExecutors.supplyAsync(() -> bindAliass(appKey, deviceId, aliasNames), executor);
+    }
+
+    /**
+     * 异步{@link #bindAliass(Long, String, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushAliasResult> bindAliassAsync(Long appKey, String deviceId, String aliasName) {
+        return PushExecutors.supplyAsync(() -> bindAliass(appKey, deviceId, aliasName), executor);
+    }
+
+    /**
+     * 异步{@link #unbindAliass(Long, String, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushAliasResult> unbindAliassAsync(Long appKey, String deviceId, Iterable<String> aliasNames) {
+        return PushExecutors.supplyAsync(() -> unbindAliass(appKey, deviceId, aliasNames), executor);
+    }
+
+    /**
+     * 异步{@link #unbindAliass(Long, String, Iterable, boolean)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushAliasResult> unbindAliassAsync(Long appKey, String deviceId, Iterable<String> aliasNames, boolean unbindAll) {
+        return PushExecutors.supplyAsync(() -> unbindAliass(appKey, deviceId, aliasNames, unbindAll), executor);
+    }
+
+    /**
+     * 异步{@link #unbindAliass(Long, String, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushAliasResult> unbindAliassAsync(Long appKey, String deviceId, String aliasName) {
+        return PushExecutors.supplyAsync(() -> unbindAliass(appKey, deviceId, aliasName), executor);
+    }
+
+    /**
+     * 异步{@link #unbindAliass(Long, String, String, boolean)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushAliasResult> unbindAliassAsync(Long appKey, String deviceId, String aliasName, boolean unbindAll) {
+        return PushExecutors.supplyAsync(() -> unbindAliass(appKey, deviceId, aliasName, unbindAll), executor);
+    }
+
 }
@@ -2,19 +2,58 @@ package club.ensoul.framework.aliyun.push;
 
 import club.ensoul.framework.aliyun.push.domain.PushDeviceResult;
 import club.ensoul.framework.aliyun.push.exception.AliyunPushException;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
 import com.aliyun.push20160801.Client;
 import com.aliyun.push20160801.models.*;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Slf4j
 public class AliyunPushDeviceTemplate {
 
     @Getter
     private static Client client;
 
+    /**
+     * 异步方法使用的线程池
+     */
+    @Getter
+    private final Executor executor;
+
+    /**
+     * 调用API前按API名称限流
+     */
+    @Getter
+    private final RateLimiterRegistry rateLimiters;
+
+    /**
+     * 异步方法使用{@link PushExecutors#defaultExecutor()}
+     */
     public AliyunPushDeviceTemplate(Client client) {
+        this(client, PushExecutors.defaultExecutor());
+    }
+
+    /**
+     * @param client   推送客户端
+     * @param executor 异步方法使用的线程池
+     */
+    public AliyunPushDeviceTemplate(Client client, Executor executor) {
+        this(client, executor, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       推送客户端
+     * @param executor     异步方法使用的线程池
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunPushDeviceTemplate(Client client, Executor executor, RateLimiterRegistry rateLimiters) {
         AliyunPushDeviceTemplate.client = client;
+        this.executor = Objects.requireNonNull(executor);
+        this.rateLimiters = Objects.requireNonNull(rateLimiters);
     }
 
     /**
@@ -29,6 +68,7 @@ public class AliyunPushDeviceTemplate {
         request.setAppKey(appKey);
         request.setAccount(account);
         try {
+            rateLimiters.acquire("QueryDevicesByAccount");
             QueryDevicesByAccountResponse response = client.queryDevicesByAccount(request);
             QueryDevicesByAccountResponseBody body = response.getBody();
             return PushDeviceResult.builder().requestId(body.requestId).deviceIds(body.deviceIds.deviceId).build();
@@ -49,6 +89,7 @@ public class AliyunPushDeviceTemplate {
         request.setAppKey(appKey);
         request.setAlias(alias);
         try {
+            rateLimiters.acquire("QueryDevicesByAlias");
             QueryDevicesByAliasResponse response = client.queryDevicesByAlias(request);
             QueryDevicesByAliasResponseBody body = response.getBody();
             return PushDeviceResult.builder().requestId(body.requestId).deviceIds(body.deviceIds.deviceId).build();
@@ -57,4 +98,20 @@ public class AliyunPushDeviceTemplate {
         }
     }
 
+    /*-------------------------------异步方法-------------------------------*/
+
+    /**
+     * 异步{@link #queryDevicesByAccount(Long, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushDeviceResult> queryDevicesByAccountAsync(Long appKey, String account) {
+        return PushExecutors.supplyAsync(() -> queryDevicesByAccount(appKey, account), executor);
+    }
+
+    /**
+     * 异步{@link #queryDevicesByAlias(Long, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushDeviceResult> queryDevicesByAliasAsync(Long appKey, String alias) {
+        return PushExecutors.supplyAsync(() -> queryDevicesByAlias(appKey, alias), executor);
+    }
+
 }
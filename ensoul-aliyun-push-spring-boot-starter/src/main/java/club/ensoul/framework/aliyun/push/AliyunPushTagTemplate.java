@@ -3,6 +3,7 @@ package club.ensoul.framework.aliyun.push;
 import club.ensoul.framework.aliyun.push.consts.PushTagKeyType;
 import club.ensoul.framework.aliyun.push.domain.PushTagResult;
 import club.ensoul.framework.aliyun.push.exception.AliyunPushException;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
 import com.aliyun.push20160801.Client;
 import com.aliyun.push20160801.models.*;
 import lombok.Getter;
@@ -10,6 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -18,8 +22,42 @@ public class AliyunPushTagTemplate {
     @Getter
     private static Client client;
 
+    /**
+     * 异步方法使用的线程池
+     */
+    @Getter
+    private final Executor executor;
+
+    /**
+     * 调用API前按API名称限流
+     */
+    @Getter
+    private final RateLimiterRegistry rateLimiters;
+
+    /**
+     * 异步方法使用{@link PushExecutors#defaultExecutor()}
+     */
     public AliyunPushTagTemplate(Client client) {
+        this(client, PushExecutors.defaultExecutor());
+    }
+
+    /**
+     * @param client   推送客户端
+     * @param executor 异步方法使用的线程池
+     */
+    public AliyunPushTagTemplate(Client client, Executor executor) {
+        this(client, executor, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       推送客户端
+     * @param executor     异步方法使用的线程池
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunPushTagTemplate(Client client, Executor executor, RateLimiterRegistry rateLimiters) {
         AliyunPushTagTemplate.client = client;
+        this.executor = Objects.requireNonNull(executor);
+        this.rateLimiters = Objects.requireNonNull(rateLimiters);
     }
 
     /**
@@ -32,6 +70,7 @@ public class AliyunPushTagTemplate {
         ListTagsRequest request = new ListTagsRequest();
         request.setAppKey(appKey);
         try {
+            rateLimiters.acquire("ListTags");
             ListTagsResponse response = client.listTags(request);
             ListTagsResponseBody body = response.getBody();
             List<String> tagNames = new ArrayList<>();
@@ -63,6 +102,7 @@ public class AliyunPushTagTemplate {
         request.setClientKey(clientKey);
         request.setKeyType(keyType.name());
         try {
+            rateLimiters.acquire("QueryTags");
             QueryTagsResponse response = client.queryTags(request);
             QueryTagsResponseBody body = response.getBody();
             List<String> tagNames = new ArrayList<>();
@@ -114,6 +154,7 @@ public class AliyunPushTagTemplate {
         request.setKeyType(keyType.name());
         request.setTagName(tagName);
         try {
+            rateLimiters.acquire("BindTag");
             BindTagResponse response = client.bindTag(request);
             BindTagResponseBody body = response.getBody();
             return PushTagResult.builder().requestId(body.requestId).build();
@@ -159,6 +200,7 @@ public class AliyunPushTagTemplate {
         request.setKeyType(keyType.name());
         request.setTagName(tagName);
         try {
+            rateLimiters.acquire("UnbindTag");
             UnbindTagResponse response = client.unbindTag(request);
             UnbindTagResponseBody body = response.getBody();
             return PushTagResult.builder().requestId(body.requestId).build();
@@ -179,6 +221,7 @@ public class AliyunPushTagTemplate {
         request.setAppKey(appKey);
         request.setTagName(tagName);
         try {
+            rateLimiters.acquire("RemoveTag");
             RemoveTagResponse response = client.removeTag(request);
             RemoveTagResponseBody body = response.getBody();
             return PushTagResult.builder().requestId(body.requestId).build();
@@ -187,4 +230,55 @@ public class AliyunPushTagTemplate {
         }
     }
 
+    /*-------------------------------异步方法-------------------------------*/
+
+    /**
+     * 异步{@link #queryTags(Long)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushTagResult> queryTagsAsync(Long appKey) {
+        return PushExecutors.supplyAsync(() -> queryTags(appKey), executor);
+    }
+
+    /**
+     * 异步{@link #queryTags(Long, PushTagKeyType, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushTagResult> queryTagsAsync(Long appKey, PushTagKeyType keyType, String clientKey) {
+        return PushExecutors.supplyAsync(() -> queryTags(appKey, keyType, clientKey), executor);
+    }
+
+    /**
+     * 异步{@link #bindTags(Long, PushTagKeyType, Iterable, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushTagResult> bindTagsAsync(Long appKey, PushTagKeyType keyType, Iterable<String> clientKeys, Iterable<String> tagNames) {
+        return PushExecutors.supplyAsync(() -> bindTags(appKey, keyType, clientKeys, tagNames), executor);
+    }
+
+    /**
+     * 异步{@link #bindTags(Long, PushTagKeyType, String, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushTagResult> bindTagsAsync(Long appKey, PushTagKeyType keyType, String clientKey, String tagName) {
+        return PushExecutors.supplyAsync(() -> bindTags(appKey, keyType, clientKey, tagName), executor);
+    }
+
+    /**
+     * 异步{@link #unbindTags(Long, PushTagKeyType, Iterable, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushTagResult> unbindTagsAsync(Long appKey, PushTagKeyType keyType, Iterable<String> clientKeys, Iterable<String> tagNames) {
+        return PushExecutors.supplyAsync(() -> unbindTags(appKey, keyType, clientKeys, tagNames), executor);
+    }
+
+    /**
+     * 异步{@link #unbindTags(Long, PushTagKeyType, String, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushTagResult> unbindTagsAsync(Long appKey, PushTagKeyType keyType, String clientKey, String tagName) {
+        return PushExecutors.supplyAsync(() -> unbindTags(appKey, keyType, clientKey, tagName), executor);
+    }
+
+    /**
+     * 异步{@link #removeTag(Long, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushTagResult> removeTagAsync(Long appKey, String tagName) {
+        return PushExecutors.supplyAsync(() -> removeTag(appKey, tagName), executor);
+    }
+
 }
@@ -12,11 +12,19 @@ import com.aliyun.push20160801.models.*;
 import club.ensoul.framework.aliyun.push.consts.PushDeviceType;
 import club.ensoul.framework.aliyun.push.consts.PushTarget;
 import club.ensoul.framework.aliyun.push.consts.PushType;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
+import club.ensoul.framework.aliyun.retry.AliyunErrorClassifier;
+import club.ensoul.framework.aliyun.retry.ErrorCategory;
+import club.ensoul.framework.aliyun.retry.RetryPolicy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Slf4j
 public class AliyunPushTemplate {
@@ -24,8 +32,59 @@ public class AliyunPushTemplate {
     @Getter
     private static Client client;
 
+    /**
+     * 异步方法使用的线程池
+     */
+    @Getter
+    private final Executor executor;
+
+    /**
+     * 调用API前按API名称限流
+     */
+    @Getter
+    private final RateLimiterRegistry rateLimiters;
+
+    /**
+     * 推送接口的重试策略。推送接口没有幂等键，请求已发出但没有收到响应时不重试，避免重复推送
+     */
+    @Getter
+    private final RetryPolicy retryPolicy;
+
+    /**
+     * 异步方法使用{@link PushExecutors#defaultExecutor()}
+     */
     public AliyunPushTemplate(Client client) {
+        this(client, PushExecutors.defaultExecutor());
+    }
+
+    /**
+     * @param client   推送客户端
+     * @param executor 异步方法使用的线程池
+     */
+    public AliyunPushTemplate(Client client, Executor executor) {
+        this(client, executor, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       推送客户端
+     * @param executor     异步方法使用的线程池
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunPushTemplate(Client client, Executor executor, RateLimiterRegistry rateLimiters) {
+        this(client, executor, rateLimiters, RetryPolicy.none());
+    }
+
+    /**
+     * @param client       推送客户端
+     * @param executor     异步方法使用的线程池
+     * @param rateLimiters 按API名称限流
+     * @param retryPolicy  推送接口的重试策略
+     */
+    public AliyunPushTemplate(Client client, Executor executor, RateLimiterRegistry rateLimiters, RetryPolicy retryPolicy) {
         AliyunPushTemplate.client = client;
+        this.executor = Objects.requireNonNull(executor);
+        this.rateLimiters = Objects.requireNonNull(rateLimiters);
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
     }
 
     /**
@@ -78,7 +137,7 @@ public class AliyunPushTemplate {
         }
         request.setPushTask(pushTasks);
         try {
-            MassPushResponse response = client.massPush(request);
+            MassPushResponse response = _call("MassPush", () -> client.massPush(request));
             MassPushResponseBody body = response.getBody();
             return PushResult.builder().messageIds(body.messageIds.messageId).requestId(body.requestId).build();
         } catch (Exception e) {
@@ -122,7 +181,7 @@ public class AliyunPushTemplate {
         PushRequest request = pushBuilder.getPushRequest();
         request.setAppKey(appKey);
         try {
-            PushResponse response = client.push(request);
+            PushResponse response = _call("Push", () -> client.push(request));
             PushResponseBody body = response.getBody();
             return PushResult.builder().messageId(body.messageId).requestId(body.requestId).build();
         } catch (Exception e) {
@@ -161,7 +220,7 @@ public class AliyunPushTemplate {
         request.setTarget(pushTarget.name());
         request.setTargetValue(String.join(",", targetValues));
         try {
-            ContinuouslyPushResponse response = client.continuouslyPush(request);
+            ContinuouslyPushResponse response = _call("ContinuouslyPush", () -> client.continuouslyPush(request));
             ContinuouslyPushResponseBody body = response.getBody();
             return PushResult.builder().requestId(body.requestId).build();
         } catch (Exception e) {
@@ -263,7 +322,7 @@ public class AliyunPushTemplate {
         request.setTargetValue(targetValue);
         request.setBody(content);
         try {
-            PushMessageToAndroidResponse response = client.pushMessageToAndroid(request);
+            PushMessageToAndroidResponse response = _call("PushMessageToAndroid", () -> client.pushMessageToAndroid(request));
             PushMessageToAndroidResponseBody body = response.getBody();
             return PushResult.builder().messageId(body.messageId).requestId(body.requestId).build();
         } catch (Exception e) {
@@ -372,7 +431,7 @@ public class AliyunPushTemplate {
         request.setBody(content);
         request.setExtParameters(JSONUtil.toJsonStr(extParameters));
         try {
-            PushNoticeToAndroidResponse response = client.pushNoticeToAndroid(request);
+            PushNoticeToAndroidResponse response = _call("PushNoticeToAndroid", () -> client.pushNoticeToAndroid(request));
             PushNoticeToAndroidResponseBody body = response.getBody();
             return PushResult.builder().messageId(body.messageId).requestId(body.requestId).build();
         } catch (Exception e) {
@@ -471,7 +530,7 @@ public class AliyunPushTemplate {
         request.setTargetValue(targetValue);
         request.setBody(content);
         try {
-            PushMessageToiOSResponse response = client.pushMessageToiOS(request);
+            PushMessageToiOSResponse response = _call("PushMessageToiOS", () -> client.pushMessageToiOS(request));
             PushMessageToiOSResponseBody body = response.getBody();
             return PushResult.builder().messageId(body.messageId).requestId(body.requestId).build();
         } catch (Exception e) {
@@ -579,7 +638,7 @@ public class AliyunPushTemplate {
         }
 
         try {
-            PushNoticeToiOSResponse response = client.pushNoticeToiOS(request);
+            PushNoticeToiOSResponse response = _call("PushNoticeToiOS", () -> client.pushNoticeToiOS(request));
             PushNoticeToiOSResponseBody body = response.getBody();
             return PushResult.builder().messageId(body.messageId).requestId(body.requestId).build();
         } catch (Exception e) {
@@ -599,7 +658,7 @@ public class AliyunPushTemplate {
         request.setAppKey(appKey);
         request.setMessageId(messageId);
         try {
-            CancelPushResponse response = client.cancelPush(request);
+            CancelPushResponse response = _call("CancelPush", () -> client.cancelPush(request));
             CancelPushResponseBody body = response.getBody();
             return PushResult.builder().requestId(body.requestId).build();
         } catch (Exception e) {
@@ -607,4 +666,173 @@ public class AliyunPushTemplate {
         }
     }
 
+    /*-------------------------------异步方法-------------------------------*/
+
+    /**
+     * 异步{@link #massPush(Long, String, String, PushDeviceType, PushType, PushTarget, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> massPushAsync(Long appKey, String title, String content, PushDeviceType pushDeviceType, PushType pushType, PushTarget pushTarget, Iterable<String> targetValues) {
+        return PushExecutors.supplyAsync(() -> massPush(appKey, title, content, pushDeviceType, pushType, pushTarget, targetValues), executor);
+    }
+
+    /**
+     * 异步{@link #massPush(Long, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> massPushAsync(Long appKey, Iterable<PushTaskBuilder> taskBuilders) {
+        return PushExecutors.supplyAsync(() -> massPush(appKey, taskBuilders), executor);
+    }
+
+    /**
+     * 异步{@link #push(Long, String, String, PushDeviceType, PushType, PushTarget, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushAsync(Long appKey, String title, String content, PushDeviceType pushDeviceType, PushType pushType, PushTarget pushTarget, Iterable<String> targetValues) {
+        return PushExecutors.supplyAsync(() -> push(appKey, title, content, pushDeviceType, pushType, pushTarget, targetValues), executor);
+    }
+
+    /**
+     * 异步{@link #push(Long, PushBuilder)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushAsync(Long appKey, PushBuilder pushBuilder) {
+        return PushExecutors.supplyAsync(() -> push(appKey, pushBuilder), executor);
+    }
+
+    /**
+     * 异步{@link #continuouslyPush(Long, String, PushTarget, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> continuouslyPushAsync(Long appKey, String messageId, PushTarget pushTarget, Iterable<String> targetValues) {
+        return PushExecutors.supplyAsync(() -> continuouslyPush(appKey, messageId, pushTarget, targetValues), executor);
+    }
+
+    /**
+     * 异步{@link #pushMessageToAndroid(Long, String, String, PushTarget, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushMessageToAndroidAsync(Long appKey, String title, String content, PushTarget pushTarget, Iterable<String> targetValues) {
+        return PushExecutors.supplyAsync(() -> pushMessageToAndroid(appKey, title, content, pushTarget, targetValues), executor);
+    }
+
+    /**
+     * 异步{@link #pushMessageToAndroid(Long, String, String, PushTarget, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushMessageToAndroidAsync(Long appKey, String title, String content, PushTarget pushTarget, String targetValue) {
+        return PushExecutors.supplyAsync(() -> pushMessageToAndroid(appKey, title, content, pushTarget, targetValue), executor);
+    }
+
+    /**
+     * 异步{@link #pushMessageToAndroid(Long, String, String, PushTarget, Iterable, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushMessageToAndroidAsync(Long appKey, String title, String content, PushTarget pushTarget, Iterable<String> targetValues, String jobKey) {
+        return PushExecutors.supplyAsync(() -> pushMessageToAndroid(appKey, title, content, pushTarget, targetValues, jobKey), executor);
+    }
+
+    /**
+     * 异步{@link #pushMessageToAndroid(Long, String, String, PushTarget, String, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushMessageToAndroidAsync(Long appKey, String title, String content, PushTarget pushTarget, String targetValue, String jobKey) {
+        return PushExecutors.supplyAsync(() -> pushMessageToAndroid(appKey, title, content, pushTarget, targetValue, jobKey), executor);
+    }
+
+    /**
+     * 异步{@link #pushNoticeToAndroid(Long, String, String, PushTarget, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushNoticeToAndroidAsync(Long appKey, String title, String content, PushTarget pushTarget, Iterable<String> targetValues) {
+        return PushExecutors.supplyAsync(() -> pushNoticeToAndroid(appKey, title, content, pushTarget, targetValues), executor);
+    }
+
+    /**
+     * 异步{@link #pushNoticeToAndroid(Long, String, String, PushTarget, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushNoticeToAndroidAsync(Long appKey, String title, String content, PushTarget pushTarget, String targetValue) {
+        return PushExecutors.supplyAsync(() -> pushNoticeToAndroid(appKey, title, content, pushTarget, targetValue), executor);
+    }
+
+    /**
+     * 异步{@link #pushNoticeToAndroid(Long, String, String, PushTarget, Iterable, String, Map)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushNoticeToAndroidAsync(Long appKey, String title, String content, PushTarget pushTarget, Iterable<String> targetValues, String jobKey, Map<String, Object> extParameters) {
+        return PushExecutors.supplyAsync(() -> pushNoticeToAndroid(appKey, title, content, pushTarget, targetValues, jobKey, extParameters), executor);
+    }
+
+    /**
+     * 异步{@link #pushNoticeToAndroid(Long, String, String, PushTarget, String, String, Map)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushNoticeToAndroidAsync(Long appKey, String title, String content, PushTarget pushTarget, String targetValue, String jobKey, Map<String, Object> extParameters) {
+        return PushExecutors.supplyAsync(() -> pushNoticeToAndroid(appKey, title, content, pushTarget, targetValue, jobKey, extParameters), executor);
+    }
+
+    /**
+     * 异步{@link #pushMessageToiOS(Long, String, String, PushTarget, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushMessageToiOSAsync(Long appKey, String title, String content, PushTarget pushTarget, Iterable<String> targetValues) {
+        return PushExecutors.supplyAsync(() -> pushMessageToiOS(appKey, title, content, pushTarget, targetValues), executor);
+    }
+
+    /**
+     * 异步{@link #pushMessageToiOS(Long, String, String, PushTarget, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushMessageToiOSAsync(Long appKey, String title, String content, PushTarget pushTarget, String targetValue) {
+        return PushExecutors.supplyAsync(() -> pushMessageToiOS(appKey, title, content, pushTarget, targetValue), executor);
+    }
+
+    /**
+     * 异步{@link #pushMessageToiOS(Long, String, String, PushTarget, Iterable, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushMessageToiOSAsync(Long appKey, String title, String content, PushTarget pushTarget, Iterable<String> targetValues, String jobKey) {
+        return PushExecutors.supplyAsync(() -> pushMessageToiOS(appKey, title, content, pushTarget, targetValues, jobKey), executor);
+    }
+
+    /**
+     * 异步{@link #pushMessageToiOS(Long, String, String, PushTarget, String, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushMessageToiOSAsync(Long appKey, String title, String content, PushTarget pushTarget, String targetValue, String jobKey) {
+        return PushExecutors.supplyAsync(() -> pushMessageToiOS(appKey, title, content, pushTarget, targetValue, jobKey), executor);
+    }
+
+    /**
+     * 异步{@link #pushNoticeToiOS(Long, String, String, PushTarget, Iterable)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushNoticeToiOSAsync(Long appKey, String title, String content, PushTarget pushTarget, Iterable<String> targetValues) {
+        return PushExecutors.supplyAsync(() -> pushNoticeToiOS(appKey, title, content, pushTarget, targetValues), executor);
+    }
+
+    /**
+     * 异步{@link #pushNoticeToiOS(Long, String, String, PushTarget, String)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushNoticeToiOSAsync(Long appKey, String title, String content, PushTarget pushTarget, String targetValue) {
+        return PushExecutors.supplyAsync(() -> pushNoticeToiOS(appKey, title, content, pushTarget, targetValue), executor);
+    }
+
+    /**
+     * 异步{@link #pushNoticeToiOS(Long, String, String, PushTarget, Iterable, String, Map)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushNoticeToiOSAsync(Long appKey, String title, String content, PushTarget pushTarget, Iterable<String> targetValues, String jobKey, Map<String, Object> extParameters) {
+        return PushExecutors.supplyAsync(() -> pushNoticeToiOS(appKey, title, content, pushTarget, targetValues, jobKey, extParameters), executor);
+    }
+
+    /**
+     * 异步{@link #pushNoticeToiOS(Long, String, String, PushTarget, String, String, Map)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> pushNoticeToiOSAsync(Long appKey, String title, String content, PushTarget pushTarget, String targetValue, String jobKey, Map<String, Object> extParameters) {
+        return PushExecutors.supplyAsync(() -> pushNoticeToiOS(appKey, title, content, pushTarget, targetValue, jobKey, extParameters), executor);
+    }
+
+    /**
+     * 异步{@link #cancelPush(Long, Long)}，在{@link #getExecutor()}中执行
+     */
+    public CompletableFuture<PushResult> cancelPushAsync(Long appKey, Long messageId) {
+        return PushExecutors.supplyAsync(() -> cancelPush(appKey, messageId), executor);
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    /**
+     * 限流后调用API，按重试策略重试；每次重试前都会重新限流。<br/>
+     * 推送的业务错误（如参数错误、AppKey不存在、推送额度用尽）重试不会成功，只按网关的公共错误码判断是否重试
+     */
+    private <T> T _call(String api, Callable<T> call) throws Exception {
+        return retryPolicy.execute(() -> {
+            rateLimiters.acquire(api);
+            return call.call();
+        }, e -> AliyunErrorClassifier.classify(e, false, ErrorCategory::ofGatewayCode));
+    }
+
 }
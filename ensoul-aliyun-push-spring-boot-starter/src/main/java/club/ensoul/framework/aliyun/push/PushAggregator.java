@@ -0,0 +1,259 @@
+package club.ensoul.framework.aliyun.push;
+
+import club.ensoul.framework.aliyun.push.consts.PushDeviceType;
+import club.ensoul.framework.aliyun.push.consts.PushTarget;
+import club.ensoul.framework.aliyun.push.consts.PushType;
+import club.ensoul.framework.aliyun.push.domain.PushResult;
+import club.ensoul.framework.aliyun.push.domain.PushTaskBuilder;
+import club.ensoul.framework.aliyun.push.exception.AliyunPushException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量推送聚合器。<br/>
+ * 把单个推送任务按AppKey聚合成批量推送（{@link AliyunPushTemplate#massPush(Long, Iterable)}），每批最多100个任务，
+ * 攒满一批或者等待超过最大聚合时间后发送，降低调用QPS。<br/>
+ * 每个任务返回各自的{@link CompletableFuture}，结果中的messageId为批量推送结果中对应位置的messageId。<br/>
+ * 批量推送每个任务仅支持根据设备/账号/别名三类推送目标，且暂不支持短信融合配置。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+@Slf4j
+public class PushAggregator implements AutoCloseable {
+
+    /**
+     * 批量推送单次调用最多支持的任务数
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final AliyunPushTemplate pushTemplate;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Long, Batch> batches = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    /**
+     * @param pushTemplate {@link AliyunPushTemplate}
+     * @param batchSize    每批任务数，最大100
+     * @param maxLinger    最大聚合时间，第一个任务加入后超过该时间，不论是否攒满都发送
+     * @param executor     执行批量推送请求的线程池
+     */
+    public PushAggregator(AliyunPushTemplate pushTemplate, int batchSize, Duration maxLinger, Executor executor) {
+        this(pushTemplate, batchSize, maxLinger, Objects.requireNonNull(executor), null);
+    }
+
+    /**
+     * 使用内部线程池发送批量推送，{@link #close()}时关闭
+     *
+     * @see #PushAggregator(AliyunPushTemplate, int, Duration, Executor)
+     */
+    public PushAggregator(AliyunPushTemplate pushTemplate, int batchSize, Duration maxLinger) {
+        this(pushTemplate, batchSize, maxLinger, null, _newExecutor());
+    }
+
+    private PushAggregator(AliyunPushTemplate pushTemplate, int batchSize, Duration maxLinger, Executor executor, ExecutorService ownedExecutor) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        this.pushTemplate = Objects.requireNonNull(pushTemplate);
+        this.batchSize = batchSize;
+        this.lingerNanos = maxLinger.toNanos();
+        this.executor = executor == null ? ownedExecutor : executor;
+        this.ownedExecutor = ownedExecutor;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "push-aggregator-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 加入一个推送任务，等待与同一AppKey的其它任务一起批量推送
+     *
+     * @param appKey      AppKey信息
+     * @param taskBuilder {@link PushTaskBuilder}，推送目标只支持DEVICE、ACCOUNT、ALIAS
+     * @return 推送结果，messageId为该任务的消息ID；批量推送失败或者聚合器已关闭时以{@link AliyunPushException}结束
+     */
+    public CompletableFuture<PushResult> push(Long appKey, PushTaskBuilder taskBuilder) {
+        Objects.requireNonNull(appKey);
+        String target = taskBuilder.getPushTask().getTarget();
+        if (!PushTarget.DEVICE.name().equals(target) && !PushTarget.ACCOUNT.name().equals(target)
+                && !PushTarget.ALIAS.name().equals(target)) {
+            throw new IllegalArgumentException("Mass push only supports DEVICE, ACCOUNT or ALIAS target: " + target);
+        }
+        Task task = new Task(taskBuilder);
+        Batch batch = batches.computeIfAbsent(appKey, Batch::new);
+        List<Task> ready = null;
+        synchronized (batch) {
+            // 在锁内检查，保证close()中的flush能取到检查通过后加入的任务
+            if (closed) {
+                task.future.completeExceptionally(new AliyunPushException("Push aggregator is closed"));
+                return task.future;
+            }
+            if (batch.tasks.isEmpty() && batchSize > 1) {
+                try {
+                    batch.timer = scheduler.schedule(() -> _flush(batch), lingerNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    task.future.completeExceptionally(new AliyunPushException("Push aggregator is closed", e));
+                    return task.future;
+                }
+            }
+            batch.tasks.add(task);
+            if (batch.tasks.size() >= batchSize) {
+                ready = batch.drain();
+            }
+        }
+        if (ready != null) {
+            _dispatch(appKey, ready);
+        }
+        return task.future;
+    }
+
+    /**
+     * 加入一个推送任务
+     *
+     * @see #push(Long, PushTaskBuilder)
+     */
+    public CompletableFuture<PushResult> push(Long appKey, String title, String content, PushDeviceType pushDeviceType, PushType pushType, PushTarget pushTarget, Iterable<String> targetValues) {
+        return push(appKey, PushTaskBuilder.created(title, content, pushDeviceType, pushType, pushTarget, targetValues));
+    }
+
+    /**
+     * 推送通知给单个Android推送目标
+     *
+     * @see #push(Long, PushTaskBuilder)
+     */
+    public CompletableFuture<PushResult> pushNoticeToAndroid(Long appKey, String title, String content, PushTarget pushTarget, String targetValue) {
+        return push(appKey, title, content, PushDeviceType.ANDROID, PushType.NOTICE, pushTarget, Collections.singletonList(targetValue));
+    }
+
+    /**
+     * 推送通知给单个iOS推送目标
+     *
+     * @see #push(Long, PushTaskBuilder)
+     */
+    public CompletableFuture<PushResult> pushNoticeToiOS(Long appKey, String title, String content, PushTarget pushTarget, String targetValue) {
+        return push(appKey, title, content, PushDeviceType.iOS, PushType.NOTICE, pushTarget, Collections.singletonList(targetValue));
+    }
+
+    /**
+     * 立即发送所有AppKey中等待聚合的任务
+     */
+    public void flush() {
+        batches.values().forEach(this::_flush);
+    }
+
+    /**
+     * 发送剩余的任务并停止聚合，之后加入的任务以{@link AliyunPushException}结束
+     */
+    @Override
+    public void close() {
+        closed = true;
+        flush();
+        scheduler.shutdown();
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private void _flush(Batch batch) {
+        List<Task> ready;
+        synchronized (batch) {
+            ready = batch.drain();
+        }
+        if (!ready.isEmpty()) {
+            _dispatch(batch.appKey, ready);
+        }
+    }
+
+    private void _dispatch(Long appKey, List<Task> tasks) {
+        try {
+            executor.execute(() -> _massPush(appKey, tasks));
+        } catch (RuntimeException e) {
+            tasks.forEach(task -> task.future.completeExceptionally(e));
+        }
+    }
+
+    private void _massPush(Long appKey, List<Task> tasks) {
+        List<PushTaskBuilder> taskBuilders = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> taskBuilders.add(task.taskBuilder));
+        PushResult result;
+        try {
+            result = pushTemplate.massPush(appKey, taskBuilders);
+        } catch (RuntimeException e) {
+            log.warn("mass push failed, appKey: {}, tasks: {}", appKey, tasks.size(), e);
+            tasks.forEach(task -> task.future.completeExceptionally(e));
+            return;
+        }
+        List<String> messageIds = result.getMessageIds() == null ? Collections.emptyList() : result.getMessageIds();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i < messageIds.size()) {
+                tasks.get(i).future.complete(PushResult.builder().messageId(messageIds.get(i)).requestId(result.getRequestId()).build());
+            } else {
+                tasks.get(i).future.completeExceptionally(new AliyunPushException("No messageId returned for task " + i + ", requestId: " + result.getRequestId()));
+            }
+        }
+    }
+
+    private static ExecutorService _newExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "push-aggregator-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Task {
+        private final PushTaskBuilder taskBuilder;
+        private final CompletableFuture<PushResult> future = new CompletableFuture<>();
+
+        Task(PushTaskBuilder taskBuilder) {
+            this.taskBuilder = Objects.requireNonNull(taskBuilder);
+        }
+    }
+
+    private static final class Batch {
+        private final Long appKey;
+        private List<Task> tasks = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+
+        Batch(Long appKey) {
+            this.appKey = appKey;
+        }
+
+        /**
+         * 取出当前所有任务并取消聚合计时，调用方需持有锁
+         */
+        List<Task> drain() {
+            List<Task> drained = tasks;
+            tasks = new ArrayList<>();
+            if (timer != null) {
+                timer.cancel(false);
+                timer = null;
+            }
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package club.ensoul.framework.aliyun.push;
+
+import club.ensoul.framework.aliyun.push.consts.PushTarget;
+import club.ensoul.framework.aliyun.push.domain.PushBroadcastResult;
+import club.ensoul.framework.aliyun.push.domain.PushBuilder;
+import club.ensoul.framework.aliyun.push.domain.PushResult;
+import club.ensoul.framework.aliyun.push.exception.AliyunPushException;
+import com.aliyun.push20160801.models.PushRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 大批量持续推送。<br/>
+ * 持续推送单次调用最多支持1000个推送目标，同一个messageId最多推送10000次。本类先以TBD推送创建消息，
+ * 再把推送目标按1000个一批惰性拆分（不会把全部目标读入内存），并发调用持续推送，同时在推送的批次数不超过parallelism；
+ * 单个消息的推送次数用完后自动创建新的消息继续推送。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+@Slf4j
+public class PushBroadcaster implements AutoCloseable {
+
+    /**
+     * 持续推送单次调用最多支持的推送目标数
+     */
+    public static final int MAX_TARGETS_PER_CALL = 1000;
+
+    /**
+     * 同一个messageId上最多推送的次数
+     */
+    public static final int MAX_CALLS_PER_MESSAGE = 10000;
+
+    private final AliyunPushTemplate pushTemplate;
+    private final int parallelism;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * @param pushTemplate {@link AliyunPushTemplate}
+     * @param parallelism  同时在推送的最大批次数
+     * @param executor     执行持续推送请求的线程池
+     */
+    public PushBroadcaster(AliyunPushTemplate pushTemplate, int parallelism, Executor executor) {
+        this(pushTemplate, parallelism, Objects.requireNonNull(executor), null);
+    }
+
+    /**
+     * 使用内部线程池执行持续推送请求，{@link #close()}时关闭
+     *
+     * @see #PushBroadcaster(AliyunPushTemplate, int, Executor)
+     */
+    public PushBroadcaster(AliyunPushTemplate pushTemplate, int parallelism) {
+        this(pushTemplate, parallelism, null, _newExecutor(parallelism));
+    }
+
+    private PushBroadcaster(AliyunPushTemplate pushTemplate, int parallelism, Executor executor, ExecutorService ownedExecutor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0");
+        }
+        this.pushTemplate = Objects.requireNonNull(pushTemplate);
+        this.parallelism = parallelism;
+        this.executor = executor == null ? ownedExecutor : executor;
+        this.ownedExecutor = ownedExecutor;
+    }
+
+    /**
+     * 按pushBuilder中的推送目标类型分批推送
+     *
+     * @throws IllegalArgumentException pushBuilder没有设置推送目标类型
+     * @see #broadcast(Long, PushBuilder, PushTarget, Stream)
+     */
+    public PushBroadcastResult broadcast(Long appKey, PushBuilder pushBuilder, Stream<String> targets) {
+        String target = pushBuilder.getPushRequest().getTarget();
+        if (target == null) {
+            throw new IllegalArgumentException("Push target of pushBuilder is not set");
+        }
+        return broadcast(appKey, pushBuilder, PushTarget.valueOf(target), targets);
+    }
+
+    /**
+     * 把同一条消息分批推送给大量推送目标，阻塞直到所有批次推送完成<br/>
+     * 会把pushBuilder的推送目标改为TBD，用于创建消息；单批推送失败不影响其它批次，失败的批次见返回结果。<br/>
+     * 创建消息失败时不再推送剩余的推送目标：等待已提交的批次推送完成，剩余的推送目标都记为失败的批次后返回，
+     * 调用方可以只重新推送失败的推送目标
+     *
+     * @param appKey      AppKey信息
+     * @param pushBuilder 消息内容 {@link PushBuilder}
+     * @param pushTarget  推送目标类型，只支持DEVICE、ACCOUNT、ALIAS
+     * @param targets     推送目标，惰性读取
+     * @return {@link PushBroadcastResult}
+     * @throws AliyunPushException 等待推送时被中断
+     */
+    public PushBroadcastResult broadcast(Long appKey, PushBuilder pushBuilder, PushTarget pushTarget, Stream<String> targets) {
+        if (pushTarget != PushTarget.DEVICE && pushTarget != PushTarget.ACCOUNT && pushTarget != PushTarget.ALIAS) {
+            throw new IllegalArgumentException("Continuously push only supports DEVICE, ACCOUNT or ALIAS target: " + pushTarget);
+        }
+        PushRequest request = pushBuilder.getPushRequest();
+        request.setTarget(PushTarget.TBD.name());
+        request.setTargetValue(null);
+
+        List<String> messageIds = new ArrayList<>();
+        List<PushBroadcastResult.Chunk> chunks = Collections.synchronizedList(new ArrayList<>());
+        Semaphore permits = new Semaphore(parallelism);
+        String messageId = null;
+        int calls = MAX_CALLS_PER_MESSAGE;
+        int index = 0;
+        long targetCount = 0;
+        Iterator<String> iterator = targets.iterator();
+        try {
+            while (iterator.hasNext()) {
+                List<String> chunk = _nextChunk(iterator);
+                if (calls == MAX_CALLS_PER_MESSAGE) {
+                    try {
+                        messageId = pushTemplate.push(appKey, pushBuilder).getMessageId();
+                    } catch (RuntimeException e) {
+                        log.warn("create push message failed, appKey: {}, remaining targets are marked as failed from chunk: {}", appKey, index, e);
+                        for (List<String> failed = chunk; failed != null; failed = iterator.hasNext() ? _nextChunk(iterator) : null) {
+                            targetCount += failed.size();
+                            chunks.add(_failedChunk(index++, null, failed, e));
+                        }
+                        break;
+                    }
+                    messageIds.add(messageId);
+                    calls = 0;
+                }
+                calls++;
+                targetCount += chunk.size();
+                permits.acquire();
+                _submit(appKey, messageId, pushTarget, index++, chunk, chunks, permits);
+            }
+            // 等待所有批次推送完成
+            permits.acquire(parallelism);
+            permits.release(parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AliyunPushException("Broadcast interrupted after " + index + " chunks", e);
+        }
+
+        List<PushBroadcastResult.Chunk> sorted = new ArrayList<>(chunks);
+        sorted.sort(Comparator.comparingInt(PushBroadcastResult.Chunk::getIndex));
+        long failedTargetCount = 0;
+        for (PushBroadcastResult.Chunk chunk : sorted) {
+            if (chunk.getError() != null) {
+                failedTargetCount += chunk.getTargetCount();
+            }
+        }
+        return PushBroadcastResult.builder()
+                .messageIds(messageIds)
+                .targetCount(targetCount)
+                .failedTargetCount(failedTargetCount)
+                .chunks(sorted)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private void _submit(Long appKey, String messageId, PushTarget pushTarget, int index, List<String> targets,
+                         List<PushBroadcastResult.Chunk> chunks, Semaphore permits) {
+        Runnable task = () -> {
+            try {
+                PushResult result = pushTemplate.continuouslyPush(appKey, messageId, pushTarget, targets);
+                chunks.add(PushBroadcastResult.Chunk.builder().index(index).messageId(messageId)
+                        .targetCount(targets.size()).requestId(result.getRequestId()).build());
+            } catch (RuntimeException e) {
+                log.warn("continuously push failed, appKey: {}, messageId: {}, chunk: {}", appKey, messageId, index, e);
+                chunks.add(_failedChunk(index, messageId, targets, e));
+            } finally {
+                permits.release();
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            permits.release();
+            chunks.add(_failedChunk(index, messageId, targets, e));
+        }
+    }
+
+    private static List<String> _nextChunk(Iterator<String> iterator) {
+        List<String> chunk = new ArrayList<>(MAX_TARGETS_PER_CALL);
+        while (chunk.size() < MAX_TARGETS_PER_CALL && iterator.hasNext()) {
+            chunk.add(iterator.next());
+        }
+        return chunk;
+    }
+
+    private static PushBroadcastResult.Chunk _failedChunk(int index, String messageId, List<String> targets, Throwable error) {
+        return PushBroadcastResult.Chunk.builder().index(index).messageId(messageId)
+                .targetCount(targets.size()).error(error).failedTargets(targets).build();
+    }
+
+    private static ExecutorService _newExecutor(int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "push-broadcaster-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,184 @@
+package club.ensoul.framework.aliyun.push;
+
+import club.ensoul.framework.aliyun.push.exception.AliyunPushException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 推送异步接口（各模板的*Async方法）使用的线程池。<br/>
+ * JVM支持虚拟线程（Java 21+）时可以每个任务一个虚拟线程，否则使用有界线程池。两种方式的上限相同：
+ * 最多maxThreads个任务同时执行，最多queueCapacity个任务等待，超过时拒绝任务，
+ * 返回以{@link AliyunPushException}结束的{@link CompletableFuture}，不会阻塞调用线程。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+@Slf4j
+public final class PushExecutors {
+
+    /**
+     * 默认线程池的最大线程数
+     */
+    public static final int DEFAULT_MAX_THREADS = 16;
+
+    /**
+     * 默认线程池的等待队列长度
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 10000;
+
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = _findVirtualThreadExecutorFactory();
+
+    private PushExecutors() {
+    }
+
+    /**
+     * JVM是否支持虚拟线程
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * 创建异步接口使用的线程池
+     *
+     * @param maxThreads            同时执行的最大任务数，即有界线程池的最大线程数
+     * @param queueCapacity         等待执行的最大任务数，即有界线程池的等待队列长度
+     * @param preferVirtualThreads  JVM支持虚拟线程时是否使用虚拟线程，使用虚拟线程时同样按maxThreads和queueCapacity限制
+     * @return 线程池，使用完需要关闭
+     */
+    public static ExecutorService newExecutor(int maxThreads, int queueCapacity, boolean preferVirtualThreads) {
+        if (maxThreads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Max threads and queue capacity must be greater than 0");
+        }
+        if (preferVirtualThreads && NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return new BoundedExecutor((ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null), maxThreads, queueCapacity);
+            } catch (ReflectiveOperationException e) {
+                log.warn("create virtual thread executor failed, fallback to thread pool", e);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "aliyun-push-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 未指定线程池的模板共用的线程池，第一次使用时创建，线程均为守护线程
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * 在线程池中执行supplier，线程池拒绝任务时返回以{@link AliyunPushException}结束的{@link CompletableFuture}
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(new AliyunPushException("Push executor rejected the task", e));
+            return future;
+        }
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private static Method _findVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 限制同时执行和等待的任务数：超过maxThreads的任务在虚拟线程中等待，超过maxThreads + queueCapacity时拒绝
+     */
+    private static final class BoundedExecutor extends AbstractExecutorService {
+        private final ExecutorService delegate;
+        private final Semaphore running;
+        private final Semaphore admitted;
+
+        BoundedExecutor(ExecutorService delegate, int maxThreads, int queueCapacity) {
+            this.delegate = delegate;
+            this.running = new Semaphore(maxThreads);
+            this.admitted = new Semaphore(maxThreads + queueCapacity);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (!admitted.tryAcquire()) {
+                throw new RejectedExecutionException("Too many pending push tasks");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        running.acquire();
+                    } catch (InterruptedException e) {
+                        admitted.release();
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    try {
+                        command.run();
+                    } finally {
+                        running.release();
+                        admitted.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                admitted.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+    private static final class DefaultExecutorHolder {
+        private static final ExecutorService EXECUTOR = newExecutor(DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY, true);
+    }
+}
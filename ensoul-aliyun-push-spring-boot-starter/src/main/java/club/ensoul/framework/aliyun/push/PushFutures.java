@@ -0,0 +1,127 @@
+package club.ensoul.framework.aliyun.push;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 并发执行大量异步推送操作。<br/>
+ * 如批量给设备绑定标签、别名：
+ * <pre>
+ *     PushFutures.allOf(deviceIds, 8, deviceId -&gt; aliasTemplate.bindAliassAsync(appKey, deviceId, aliasName))
+ *             .thenAccept(results -&gt; ...);
+ * </pre>
+ * 同时在执行的操作不超过maxConcurrency，一个操作完成后再开始下一个，不会占用调用线程等待。<br/>
+ *
+ * @author wy_peng_chen6
+ */
+public final class PushFutures {
+
+    private PushFutures() {
+    }
+
+    /**
+     * 对每个元素执行异步操作，同时在执行的操作不超过maxConcurrency
+     *
+     * @param items          元素
+     * @param maxConcurrency 同时在执行的最大操作数
+     * @param operation      异步操作，如模板的*Async方法
+     * @return 按元素顺序排列的结果；任一操作失败时以该异常结束，并且不再开始新的操作
+     */
+    public static <T, R> CompletableFuture<List<R>> allOf(Iterable<T> items, int maxConcurrency,
+                                                          Function<? super T, ? extends CompletionStage<R>> operation) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0");
+        }
+        Objects.requireNonNull(operation);
+        List<T> list = new ArrayList<>();
+        items.forEach(list::add);
+        if (list.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        Run<T, R> run = new Run<>(list, operation);
+        for (int i = 0; i < Math.min(maxConcurrency, list.size()); i++) {
+            run.next();
+        }
+        return run.result;
+    }
+
+    private static final class Run<T, R> {
+        private final List<T> items;
+        private final Function<? super T, ? extends CompletionStage<R>> operation;
+        private final Object[] results;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final CompletableFuture<List<R>> result = new CompletableFuture<>();
+
+        Run(List<T> items, Function<? super T, ? extends CompletionStage<R>> operation) {
+            this.items = items;
+            this.operation = operation;
+            this.results = new Object[items.size()];
+            this.remaining = new AtomicInteger(items.size());
+        }
+
+        /**
+         * 开始下一个操作；已经完成的操作在循环中处理，避免同步完成时递归过深
+         */
+        void next() {
+            while (!result.isDone()) {
+                int index = cursor.getAndIncrement();
+                if (index >= items.size()) {
+                    return;
+                }
+                CompletableFuture<R> future;
+                try {
+                    future = operation.apply(items.get(index)).toCompletableFuture();
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                    return;
+                }
+                if (!future.isDone()) {
+                    future.whenComplete((value, error) -> {
+                        if (complete(index, value, error)) {
+                            next();
+                        }
+                    });
+                    return;
+                }
+                R value = null;
+                Throwable error = null;
+                try {
+                    value = future.join();
+                } catch (Throwable e) {
+                    error = e;
+                }
+                if (!complete(index, value, error)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 记录一个操作的结果
+         *
+         * @return 是否需要继续开始下一个操作
+         */
+        @SuppressWarnings("unchecked")
+        boolean complete(int index, R value, Throwable error) {
+            if (error != null) {
+                result.completeExceptionally(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                return false;
+            }
+            results[index] = value;
+            if (remaining.decrementAndGet() == 0) {
+                result.complete((List<R>) Collections.unmodifiableList(Arrays.asList(results)));
+                return false;
+            }
+            return true;
+        }
+    }
+}
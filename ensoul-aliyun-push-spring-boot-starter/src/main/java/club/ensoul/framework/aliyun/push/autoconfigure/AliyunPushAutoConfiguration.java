@@ -2,16 +2,25 @@ package club.ensoul.framework.aliyun.push.autoconfigure;
 
 import club.ensoul.framework.aliyun.push.AliyunPushTagTemplate;
 import club.ensoul.framework.aliyun.push.AliyunPushTemplate;
+import club.ensoul.framework.aliyun.push.PushAggregator;
+import club.ensoul.framework.aliyun.push.PushBroadcaster;
+import club.ensoul.framework.aliyun.push.PushExecutors;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
+import club.ensoul.framework.aliyun.retry.RetryPolicy;
 import com.aliyun.push20160801.Client;
 import com.aliyun.teaopenapi.models.*;
 import club.ensoul.framework.aliyun.push.AliyunPushAliasTemplate;
 import club.ensoul.framework.aliyun.push.AliyunPushDeviceTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
 @Configuration
 @ConditionalOnProperty(name = "enabled", prefix = "aliyun.push", havingValue = "true")
 @EnableConfigurationProperties(PushProperties.class)
@@ -31,28 +40,58 @@ public class AliyunPushAutoConfiguration {
         return new Client(config);
     }
 
+    @Bean("pushExecutor")
+    @ConditionalOnMissingBean(name = "pushExecutor")
+    public ExecutorService pushExecutor(PushProperties pushProperties) {
+        return PushExecutors.newExecutor(pushProperties.getAsyncMaxThreads(), pushProperties.getAsyncQueueCapacity(), pushProperties.isAsyncVirtualThreads());
+    }
+
+    @Bean("pushRateLimiters")
+    @ConditionalOnMissingBean(name = "pushRateLimiters")
+    public RateLimiterRegistry pushRateLimiters(PushProperties pushProperties) {
+        return RateLimiterRegistry.of(pushProperties.getRateLimits());
+    }
+
+    @Bean("pushRetryPolicy")
+    @ConditionalOnMissingBean(name = "pushRetryPolicy")
+    public RetryPolicy pushRetryPolicy(PushProperties pushProperties) {
+        return RetryPolicy.of(pushProperties.getRetry());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AliyunPushTemplate aliyunPushTemplate(Client pushClient, @Qualifier("pushExecutor") ExecutorService pushExecutor, @Qualifier("pushRateLimiters") RateLimiterRegistry pushRateLimiters, @Qualifier("pushRetryPolicy") RetryPolicy pushRetryPolicy) {
+        return new AliyunPushTemplate(pushClient, pushExecutor, pushRateLimiters, pushRetryPolicy);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PushAggregator pushAggregator(AliyunPushTemplate aliyunPushTemplate, PushProperties pushProperties) {
+        return new PushAggregator(aliyunPushTemplate, pushProperties.getAggregatorBatchSize(), Duration.ofMillis(pushProperties.getAggregatorMaxLinger()));
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public AliyunPushTemplate aliyunPushTemplate(Client pushClient) {
-        return new AliyunPushTemplate(pushClient);
+    public PushBroadcaster pushBroadcaster(AliyunPushTemplate aliyunPushTemplate, PushProperties pushProperties) {
+        return new PushBroadcaster(aliyunPushTemplate, pushProperties.getBroadcastParallelism());
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AliyunPushTagTemplate aliyunPushTagTemplate(Client pushClient) {
-        return new AliyunPushTagTemplate(pushClient);
+    public AliyunPushTagTemplate aliyunPushTagTemplate(Client pushClient, @Qualifier("pushExecutor") ExecutorService pushExecutor, @Qualifier("pushRateLimiters") RateLimiterRegistry pushRateLimiters) {
+        return new AliyunPushTagTemplate(pushClient, pushExecutor, pushRateLimiters);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AliyunPushAliasTemplate aliyunPushAliasTemplate(Client pushClient) {
-        return new AliyunPushAliasTemplate(pushClient);
+    public AliyunPushAliasTemplate aliyunPushAliasTemplate(Client pushClient, @Qualifier("pushExecutor") ExecutorService pushExecutor, @Qualifier("pushRateLimiters") RateLimiterRegistry pushRateLimiters) {
+        return new AliyunPushAliasTemplate(pushClient, pushExecutor, pushRateLimiters);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AliyunPushDeviceTemplate aliyunPushDeviceTemplate(Client pushClient) {
-        return new AliyunPushDeviceTemplate(pushClient);
+    public AliyunPushDeviceTemplate aliyunPushDeviceTemplate(Client pushClient, @Qualifier("pushExecutor") ExecutorService pushExecutor, @Qualifier("pushRateLimiters") RateLimiterRegistry pushRateLimiters) {
+        return new AliyunPushDeviceTemplate(pushClient, pushExecutor, pushRateLimiters);
     }
 
 }
@@ -2,17 +2,22 @@ package club.ensoul.framework.aliyun.push.autoconfigure;
 
 import club.ensoul.framework.aliyun.push.consts.Format;
 import club.ensoul.framework.aliyun.push.consts.Protocol;
+import club.ensoul.framework.aliyun.ratelimit.RateLimit;
+import club.ensoul.framework.aliyun.retry.RetryConfig;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Component
-@ConfigurationProperties(prefix = "aliyun.sms")
+@ConfigurationProperties(prefix = "aliyun.push")
 public class PushProperties {
 
     /**
@@ -60,4 +65,46 @@ public class PushProperties {
      **/
     private String endpoint = "cloudpush.aliyuncs.com";
 
+    /**
+     * 批量推送聚合每批任务数，最大100
+     **/
+    private Integer aggregatorBatchSize = 100;
+
+    /**
+     * 批量推送聚合的最大等待时间（毫秒），第一个任务加入后超过该时间，不论是否攒满都发送
+     **/
+    private Long aggregatorMaxLinger = 20L;
+
+    /**
+     * 分批持续推送时同时在推送的最大批次数
+     **/
+    private Integer broadcastParallelism = 4;
+
+    /**
+     * 异步接口同时执行的最大任务数，即线程池的最大线程数；使用虚拟线程时同样限制
+     **/
+    private Integer asyncMaxThreads = 16;
+
+    /**
+     * 异步接口等待执行的最大任务数，即线程池的等待队列长度，队列满时拒绝任务；使用虚拟线程时同样限制
+     **/
+    private Integer asyncQueueCapacity = 10000;
+
+    /**
+     * JVM支持虚拟线程时异步接口是否使用虚拟线程
+     **/
+    private boolean asyncVirtualThreads = true;
+
+    /**
+     * 按API名称限流，API名称为OpenAPI接口名称，如Push、MassPush、ContinuouslyPush、BindTag、QueryDevicesByAccount；
+     * 没有配置的API不限流
+     **/
+    private Map<String, RateLimit> rateLimits = new HashMap<>();
+
+    /**
+     * 推送接口（AliyunPushTemplate）的重试配置（aliyun.push.retry），和短信的重试配置互不影响，maxAttempts为1时不重试。<br/>
+     * 推送没有幂等键，只重试请求一定没有生效的失败，如连接失败、被限流、网关系统错误；读超时不重试
+     **/
+    private RetryConfig retry = new RetryConfig();
+
 }
@@ -27,6 +27,11 @@ public enum PushTarget {
      */
     ALL,
 
+    /**
+     * 待定目标，用于持续推送：先以TBD推送获得messageId，再调用持续推送指定目标
+     */
+    TBD,
+
     ;
 
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package club.ensoul.framework.aliyun.push.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 分批持续推送的汇总结果
+ *
+ * @author wy_peng_chen6
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushBroadcastResult {
+
+    /**
+     * 使用的消息ID，单个消息的持续推送次数用完后会创建新的消息
+     */
+    private List<String> messageIds;
+
+    /**
+     * 推送目标总数
+     */
+    private long targetCount;
+
+    /**
+     * 失败的推送目标数
+     */
+    private long failedTargetCount;
+
+    /**
+     * 每批的推送结果，按批次顺序排列
+     */
+    private List<Chunk> chunks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chunk {
+
+        /**
+         * 批次序号，从0开始
+         */
+        private int index;
+
+        /**
+         * 本批使用的消息ID，创建消息失败时为空
+         */
+        private String messageId;
+
+        /**
+         * 本批的推送目标数
+         */
+        private int targetCount;
+
+        /**
+         * 请求ID，失败时为空
+         */
+        private String requestId;
+
+        /**
+         * 失败原因，成功时为空
+         */
+        private Throwable error;
+
+        /**
+         * 失败时本批的推送目标，用于重新推送；成功时为空
+         */
+        private List<String> failedTargets;
+
+    }
+
+}
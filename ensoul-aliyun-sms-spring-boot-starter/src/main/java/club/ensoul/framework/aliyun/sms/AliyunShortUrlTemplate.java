@@ -2,18 +2,36 @@ package club.ensoul.framework.aliyun.sms;
 
 import com.aliyun.dysmsapi20170525.Client;
 import com.aliyun.dysmsapi20170525.models.*;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
 import club.ensoul.framework.aliyun.sms.exception.AliyunShortUrlException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Objects;
+
 @Slf4j
 public class AliyunShortUrlTemplate {
 
     @Getter
     private static Client client;
 
+    /**
+     * 调用API前按API名称限流
+     */
+    @Getter
+    private final RateLimiterRegistry rateLimiters;
+
     public AliyunShortUrlTemplate(Client client) {
+        this(client, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       短信客户端
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunShortUrlTemplate(Client client, RateLimiterRegistry rateLimiters) {
         AliyunShortUrlTemplate.client = client;
+        this.rateLimiters = Objects.requireNonNull(rateLimiters);
     }
 
     /**
@@ -32,6 +50,7 @@ public class AliyunShortUrlTemplate {
         shortUrlRequest.setSourceUrl(sourceUrl);
         shortUrlRequest.setEffectiveDays(effectiveDays + "");
         try {
+            rateLimiters.acquire("AddShortUrl");
             AddShortUrlResponse shortUrlResponse = client.addShortUrl(shortUrlRequest);
             return shortUrlResponse.getBody();
         } catch (Exception e) {
@@ -51,6 +70,7 @@ public class AliyunShortUrlTemplate {
         DeleteShortUrlRequest shortUrlRequest = new DeleteShortUrlRequest();
         shortUrlRequest.setSourceUrl(sourceUrl);
         try {
+            rateLimiters.acquire("DeleteShortUrl");
             DeleteShortUrlResponse shortUrlResponse = client.deleteShortUrl(shortUrlRequest);
             return shortUrlResponse.getBody();
         } catch (Exception e) {
@@ -70,6 +90,7 @@ public class AliyunShortUrlTemplate {
         QueryShortUrlRequest shortUrlRequest = new QueryShortUrlRequest();
         shortUrlRequest.setShortUrl(shortUrl);
         try {
+            rateLimiters.acquire("QueryShortUrl");
             QueryShortUrlResponse shortUrlResponse = client.queryShortUrl(shortUrlRequest);
             return shortUrlResponse.getBody();
         } catch (Exception e) {
@@ -3,13 +3,22 @@ package club.ensoul.framework.aliyun.sms;
 import com.aliyun.dysmsapi20170525.Client;
 import com.aliyun.dysmsapi20170525.models.*;
 import com.google.gson.Gson;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
+import club.ensoul.framework.aliyun.retry.AliyunErrorClassifier;
+import club.ensoul.framework.aliyun.retry.ErrorCategory;
+import club.ensoul.framework.aliyun.retry.RetryPolicy;
+import club.ensoul.framework.aliyun.sms.domain.ResultCode;
 import club.ensoul.framework.aliyun.sms.exception.AliyunSmsSendException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 public class AliyunSmsSendTemplate {
@@ -17,14 +26,56 @@ public class AliyunSmsSendTemplate {
     @Getter
     private static Client client;
 
+    /**
+     * 调用API前按API名称限流，{@link Sender}也使用
+     */
+    @Getter
+    private static RateLimiterRegistry rateLimiters = RateLimiterRegistry.empty();
+
+    /**
+     * 发送短信的重试策略，{@link Sender}也使用
+     */
+    @Getter
+    private static RetryPolicy retryPolicy = RetryPolicy.none();
+
     private final static Gson gson = new Gson();
 
+    /**
+     * 短信发送记录按北京时间的日期查询
+     */
+    private final static ZoneId SEND_DATE_ZONE = ZoneId.of("Asia/Shanghai");
+
     public AliyunSmsSendTemplate(Client client) {
+        this(client, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       短信客户端
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunSmsSendTemplate(Client client, RateLimiterRegistry rateLimiters) {
+        this(client, rateLimiters, RetryPolicy.none());
+    }
+
+    /**
+     * 发送短信（SendSms）时以outId作为幂等键重试：没有指定outId时自动生成，
+     * 请求已发出但没有收到响应时不再重新发送，之后的重试只按第一个手机号查询当天（北京时间）的发送记录，
+     * 查到该outId的记录时返回成功，重试次数用完仍查不到时抛出原来的异常，由调用方确认是否已发送。
+     * 发送记录可能有几秒的延迟，maxDelay不宜配置得过短。<br/>
+     * 批量发送（SendBatchSms）没有幂等键，只重试请求没有发出或者服务端明确返回可重试错误码的失败。
+     *
+     * @param client       短信客户端
+     * @param rateLimiters 按API名称限流
+     * @param retryPolicy  发送短信的重试策略
+     */
+    public AliyunSmsSendTemplate(Client client, RateLimiterRegistry rateLimiters, RetryPolicy retryPolicy) {
         AliyunSmsSendTemplate.client = client;
+        AliyunSmsSendTemplate.rateLimiters = Objects.requireNonNull(rateLimiters);
+        AliyunSmsSendTemplate.retryPolicy = Objects.requireNonNull(retryPolicy);
     }
 
     public static Sender builderSender() {
-        return new Sender(client);
+        return new Sender(client, rateLimiters);
     }
 
     /**
@@ -74,7 +125,7 @@ public class AliyunSmsSendTemplate {
      * @param templateCode  短信模板ID
      * @param templateParam 短信模板变量对应的实际值，JSON格式。支持传入多个参数，示例：{"name":"张三","number":"15038****76"}
      * @param signName      短信签名名称
-     * @param outId         外部流水扩展字段, 可以为空
+     * @param outId         外部流水扩展字段, 可以为空；开启重试时为空会自动生成，用作重试的幂等键
      * @param phoneNumbers  接收短信的手机号码。格式：无任何前缀的11位手机号码，例如1381111****。支持对多个手机号码发送短信，手机号码之间以半角逗号（,）分隔。上限为1000个手机号码。批量调用相对于单条调用及时性稍有延迟
      * @return {@link SendSmsResponseBody}<p/>
      * {@link #sendMessage(String, String, String, String, String, Collection)}
@@ -89,7 +140,7 @@ public class AliyunSmsSendTemplate {
      * @param templateCode   短信模板ID
      * @param templateParams 短信模板变量对应的实际值，键值对格式
      * @param signName       短信签名名称
-     * @param outId          外部流水扩展字段, 可以为空
+     * @param outId          外部流水扩展字段, 可以为空；开启重试时为空会自动生成，用作重试的幂等键
      * @param phoneNumbers   接收短信的手机号码。格式：无任何前缀的11位手机号码，例如1381111****。支持对多个手机号码发送短信，手机号码之间以半角逗号（,）分隔。上限为1000个手机号码。批量调用相对于单条调用及时性稍有延迟
      * @return {@link SendSmsResponseBody}<p/>
      * {@link #sendMessage(String, String, String, String, String, Collection)}
@@ -104,7 +155,7 @@ public class AliyunSmsSendTemplate {
      * @param templateCode    短信模板ID
      * @param templateParams  短信模板变量对应的实际值，键值对格式
      * @param signName        短信签名名称
-     * @param outId           外部流水扩展字段, 可以为空
+     * @param outId           外部流水扩展字段, 可以为空；开启重试时为空会自动生成，用作重试的幂等键
      * @param smsUpExtendCode 上行短信扩展码，上行短信，指发送给通信服务提供商的短信，用于定制某种服务、完成查询，或是办理某种业务等，需要收费的，按运营商普通短信资费进行扣费
      * @param phoneNumbers    接收短信的手机号码。格式：无任何前缀的11位手机号码，例如1381111****。支持对多个手机号码发送短信，手机号码之间以半角逗号（,）分隔。上限为1000个手机号码。批量调用相对于单条调用及时性稍有延迟
      * @return {@link SendSmsResponseBody}<p/>
@@ -120,7 +171,7 @@ public class AliyunSmsSendTemplate {
      * @param templateCode    短信模板ID
      * @param templateParam   短信模板变量对应的实际值，JSON格式。支持传入多个参数，示例：{"name":"张三","number":"15038****76"}
      * @param signName        短信签名名称
-     * @param outId           外部流水扩展字段, 可以为空
+     * @param outId           外部流水扩展字段, 可以为空；开启重试时为空会自动生成，用作重试的幂等键
      * @param smsUpExtendCode 上行短信扩展码，上行短信，指发送给通信服务提供商的短信，用于定制某种服务、完成查询，或是办理某种业务等，需要收费的，按运营商普通短信资费进行扣费
      * @param phoneNumbers    接收短信的手机号码。格式：无任何前缀的11位手机号码，例如1381111****。支持对多个手机号码发送短信，手机号码之间以半角逗号（,）分隔。上限为1000个手机号码。批量调用相对于单条调用及时性稍有延迟
      * @return {@link SendSmsResponseBody}<p/>
@@ -144,7 +195,7 @@ public class AliyunSmsSendTemplate {
         sendSmsRequest.setSmsUpExtendCode(smsUpExtendCode);
 
         try {
-            return client.sendSms(sendSmsRequest).getBody();
+            return _sendSms(client, sendSmsRequest);
         } catch (Exception e) {
             throw new AliyunSmsSendException(e);
         }
@@ -171,15 +222,78 @@ public class AliyunSmsSendTemplate {
         sendSmsRequest.setSmsUpExtendCodeJson(smsUpExtendCodeJson);
 
         try {
-            return client.sendBatchSms(sendSmsRequest).getBody();
+            return retryPolicy.execute(() -> {
+                rateLimiters.acquire("SendBatchSms");
+                return client.sendBatchSms(sendSmsRequest).getBody();
+            }, e -> AliyunErrorClassifier.classify(e, false, ResultCode::categoryOf), body -> _classify(body.getCode()));
         } catch (Exception e) {
             throw new AliyunSmsSendException(e);
         }
     }
 
+    /*-------------------------------私有方法-------------------------------*/
+
+    /**
+     * 限流后发送短信，按重试策略以outId为幂等键重试；开启重试且request没有outId时，会把生成的outId写入request。<br/>
+     * 请求可能已经发出时不再调用发送接口，之后的重试只查询发送记录，查不到时抛出发送时的异常
+     */
+    private static SendSmsResponseBody _sendSms(Client client, SendSmsRequest request) throws Exception {
+        if (retryPolicy.getMaxAttempts() > 1 && (request.getOutId() == null || request.getOutId().isEmpty())) {
+            request.setOutId(UUID.randomUUID().toString().replace("-", ""));
+        }
+        AtomicReference<Exception> unconfirmed = new AtomicReference<>();
+        return retryPolicy.execute(() -> {
+            Exception sendError = unconfirmed.get();
+            if (sendError != null) {
+                SendSmsResponseBody sent = _findSent(client, request);
+                if (sent != null) {
+                    return sent;
+                }
+                throw sendError;
+            }
+            rateLimiters.acquire("SendSms");
+            try {
+                return client.sendSms(request).getBody();
+            } catch (Exception e) {
+                if (AliyunErrorClassifier.mayHaveSucceeded(e)) {
+                    unconfirmed.set(e);
+                }
+                throw e;
+            }
+        }, e -> AliyunErrorClassifier.classify(e, true, ResultCode::categoryOf), body -> _classify(body.getCode()));
+    }
+
+    /**
+     * 按第一个手机号查询当天（北京时间）的发送记录，找到outId相同的记录时返回成功的结果，否则返回null
+     */
+    private static SendSmsResponseBody _findSent(Client client, SendSmsRequest request) throws Exception {
+        QuerySendDetailsRequest queryRequest = new QuerySendDetailsRequest();
+        queryRequest.setPhoneNumber(request.getPhoneNumbers().split(",")[0]);
+        queryRequest.setSendDate(LocalDate.now(SEND_DATE_ZONE).format(DateTimeFormatter.BASIC_ISO_DATE));
+        queryRequest.setPageSize(50L);
+        queryRequest.setCurrentPage(1L);
+        rateLimiters.acquire("QuerySendDetails");
+        QuerySendDetailsResponseBody body = client.querySendDetails(queryRequest).getBody();
+        if (body.smsSendDetailDTOs == null || body.smsSendDetailDTOs.smsSendDetailDTO == null) {
+            return null;
+        }
+        for (QuerySendDetailsResponseBody.QuerySendDetailsResponseBodySmsSendDetailDTOsSmsSendDetailDTO detail : body.smsSendDetailDTOs.smsSendDetailDTO) {
+            if (request.getOutId().equals(detail.getOutId())) {
+                log.info("aliyun sms: outId {} already sent", request.getOutId());
+                return new SendSmsResponseBody().setCode(ResultCode.OK.code).setMessage(ResultCode.OK.code).setRequestId(body.requestId);
+            }
+        }
+        return null;
+    }
+
+    private static ErrorCategory _classify(String code) {
+        return ResultCode.OK.code.equals(code) ? null : ResultCode.categoryOf(code);
+    }
+
     public static class Sender {
 
         private final Client client;
+        private final RateLimiterRegistry rateLimiters;
 
         private String templateCode;
         private String signName;
@@ -190,8 +304,9 @@ public class AliyunSmsSendTemplate {
         private final List<String> phoneNumbers = new ArrayList<>();
         private final SendSmsRequest sendSmsRequest = new SendSmsRequest();
 
-        Sender(Client client) {
+        Sender(Client client, RateLimiterRegistry rateLimiters) {
             this.client = client;
+            this.rateLimiters = rateLimiters;
         }
 
         public Sender templateCode(String templateCode) {
@@ -232,6 +347,7 @@ public class AliyunSmsSendTemplate {
             shortUrlRequest.setEffectiveDays(effectiveDays + "");
             shortUrlRequest.setSourceUrl(url);
             try {
+                rateLimiters.acquire("AddShortUrl");
                 AddShortUrlResponse shortUrl = client.addShortUrl(shortUrlRequest);
                 templateParams.put(name, shortUrl);
             } catch (Exception e) {
@@ -247,10 +363,16 @@ public class AliyunSmsSendTemplate {
         }
 
 
+        /**
+         * 发送用的请求，{@link #send()}之后才有内容；开启重试且没有指定outId时，outId为自动生成的值
+         */
         public SendSmsRequest getBody() {
             return sendSmsRequest;
         }
 
+        /**
+         * 发送短信，开启重试且没有指定outId时会生成outId写入{@link #getBody()}，用作重试的幂等键
+         */
         public SendSmsResponseBody send() {
             Assert.hasLength(templateCode, "aliyun sms: templateCode is null");
             Assert.hasLength(signName, "aliyun sms: templateCode is null");
@@ -265,7 +387,7 @@ public class AliyunSmsSendTemplate {
             try {
                 sendSmsRequest.setTemplateParam(gson.toJson(templateParams));
                 sendSmsRequest.setPhoneNumbers(String.join(",", phoneNumbers));
-                return client.sendSms(sendSmsRequest).getBody();
+                return _sendSms(client, sendSmsRequest);
             } catch (Exception e) {
                 throw new AliyunSmsSendException(e);
             }
@@ -2,11 +2,13 @@ package club.ensoul.framework.aliyun.sms;
 
 import com.aliyun.dysmsapi20170525.Client;
 import com.aliyun.dysmsapi20170525.models.*;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
 import club.ensoul.framework.aliyun.sms.exception.AliyunSmsSignException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 public class AliyunSmsSignTemplate {
@@ -14,8 +16,23 @@ public class AliyunSmsSignTemplate {
     @Getter
     private static Client client;
 
+    /**
+     * 调用API前按API名称限流
+     */
+    @Getter
+    private final RateLimiterRegistry rateLimiters;
+
     public AliyunSmsSignTemplate(Client client) {
+        this(client, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       短信客户端
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunSmsSignTemplate(Client client, RateLimiterRegistry rateLimiters) {
         AliyunSmsSignTemplate.client = client;
+        this.rateLimiters = Objects.requireNonNull(rateLimiters);
     }
 
     /**
@@ -44,6 +61,7 @@ public class AliyunSmsSignTemplate {
         smsSignRequest.setRemark(remark);
         smsSignRequest.setSignFileList(signFileList);
         try {
+            rateLimiters.acquire("AddSmsSign");
             AddSmsSignResponse SmsSignResponse = client.addSmsSign(smsSignRequest);
             return SmsSignResponse.getBody();
         } catch (Exception e) {
@@ -77,6 +95,7 @@ public class AliyunSmsSignTemplate {
         smsSignRequest.setRemark(remark);
         smsSignRequest.setSignFileList(signFileList);
         try {
+            rateLimiters.acquire("ModifySmsSign");
             ModifySmsSignResponse smsSignResponse = client.modifySmsSign(smsSignRequest);
             return smsSignResponse.getBody();
         } catch (Exception e) {
@@ -94,6 +113,7 @@ public class AliyunSmsSignTemplate {
         DeleteSmsSignRequest smsSignRequest = new DeleteSmsSignRequest();
         smsSignRequest.setSignName(signName);
         try {
+            rateLimiters.acquire("DeleteSmsSign");
             DeleteSmsSignResponse smsSignResponse = client.deleteSmsSign(smsSignRequest);
             return smsSignResponse.getBody();
         } catch (Exception e) {
@@ -111,6 +131,7 @@ public class AliyunSmsSignTemplate {
         QuerySmsSignRequest smsSignRequest = new QuerySmsSignRequest();
         smsSignRequest.setSignName(smsSign);
         try {
+            rateLimiters.acquire("QuerySmsSign");
             QuerySmsSignResponse smsSignResponse = client.querySmsSign(smsSignRequest);
             return smsSignResponse.getBody();
         } catch (Exception e) {
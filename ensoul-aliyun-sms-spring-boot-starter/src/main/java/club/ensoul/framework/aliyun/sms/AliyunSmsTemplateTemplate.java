@@ -2,18 +2,36 @@ package club.ensoul.framework.aliyun.sms;
 
 import com.aliyun.dysmsapi20170525.Client;
 import com.aliyun.dysmsapi20170525.models.*;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
 import club.ensoul.framework.aliyun.sms.exception.AliyunSmsTemplateException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Objects;
+
 @Slf4j
 public class AliyunSmsTemplateTemplate {
 
     @Getter
     private static Client client;
 
+    /**
+     * 调用API前按API名称限流
+     */
+    @Getter
+    private final RateLimiterRegistry rateLimiters;
+
     public AliyunSmsTemplateTemplate(Client client) {
+        this(client, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       短信客户端
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunSmsTemplateTemplate(Client client, RateLimiterRegistry rateLimiters) {
         AliyunSmsTemplateTemplate.client = client;
+        this.rateLimiters = Objects.requireNonNull(rateLimiters);
     }
 
     /**
@@ -36,6 +54,7 @@ public class AliyunSmsTemplateTemplate {
         shortUrlRequest.setTemplateContent(templateContent);
         shortUrlRequest.setRemark(remark);
         try {
+            rateLimiters.acquire("AddSmsTemplate");
             AddSmsTemplateResponse smsTemplateResponse = client.addSmsTemplate(shortUrlRequest);
             return smsTemplateResponse.getBody();
         } catch (Exception e) {
@@ -64,6 +83,7 @@ public class AliyunSmsTemplateTemplate {
         modifySmsTemplateRequest.setTemplateContent(templateContent);
         modifySmsTemplateRequest.setRemark(remark);
         try {
+            rateLimiters.acquire("ModifySmsTemplate");
             ModifySmsTemplateResponse smsTemplateResponse = client.modifySmsTemplate(modifySmsTemplateRequest);
             return smsTemplateResponse.getBody();
         } catch (Exception e) {
@@ -81,6 +101,7 @@ public class AliyunSmsTemplateTemplate {
         DeleteSmsTemplateRequest smsTemplateRequest = new DeleteSmsTemplateRequest();
         smsTemplateRequest.setTemplateCode(templateCode);
         try {
+            rateLimiters.acquire("DeleteSmsTemplate");
             DeleteSmsTemplateResponse smsTemplateResponse = client.deleteSmsTemplate(smsTemplateRequest);
             return smsTemplateResponse.getBody();
         } catch (Exception e) {
@@ -98,6 +119,7 @@ public class AliyunSmsTemplateTemplate {
         QuerySmsTemplateRequest smsTemplateRequest = new QuerySmsTemplateRequest();
         smsTemplateRequest.setTemplateCode(templateCode);
         try {
+            rateLimiters.acquire("QuerySmsTemplate");
             QuerySmsTemplateResponse smsTemplateResponse = client.querySmsTemplate(smsTemplateRequest);
             return smsTemplateResponse.getBody();
         } catch (Exception e) {
@@ -2,6 +2,7 @@ package club.ensoul.framework.aliyun.sms;
 
 import com.aliyun.dysmsapi20170525.Client;
 import com.aliyun.dysmsapi20170525.models.*;
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
 import club.ensoul.framework.aliyun.sms.exception.AliyunSmsTemplateException;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -9,6 +10,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,8 +22,23 @@ public class AliyunTagResourcesTemplate {
     private static final String DEFAULT_RESOURCE_TYPE = "TEMPLATE";
     private static final String DEFAULT_PROD_CODE = "dysms";
 
+    /**
+     * 调用API前按API名称限流
+     */
+    @Getter
+    private final RateLimiterRegistry rateLimiters;
+
     public AliyunTagResourcesTemplate(Client client) {
+        this(client, RateLimiterRegistry.empty());
+    }
+
+    /**
+     * @param client       短信客户端
+     * @param rateLimiters 按API名称限流
+     */
+    public AliyunTagResourcesTemplate(Client client, RateLimiterRegistry rateLimiters) {
         AliyunTagResourcesTemplate.client = client;
+        this.rateLimiters = Objects.requireNonNull(rateLimiters);
     }
 
     /**
@@ -48,6 +65,7 @@ public class AliyunTagResourcesTemplate {
         tagResourcesRequest.setRegionId(client._regionId);
         tagResourcesRequest.setProdCode(DEFAULT_PROD_CODE);
         try {
+            rateLimiters.acquire("TagResources");
             TagResourcesResponse smsTemplateResponse = client.tagResources(tagResourcesRequest);
             return smsTemplateResponse.getBody();
         } catch (Exception e) {
@@ -72,6 +90,7 @@ public class AliyunTagResourcesTemplate {
         resourcesRequest.setRegionId(client._regionId);
         resourcesRequest.setProdCode(DEFAULT_PROD_CODE);
         try {
+            rateLimiters.acquire("UntagResources");
             UntagResourcesResponse resourcesResponse = client.untagResources(resourcesRequest);
             return resourcesResponse.getBody();
         } catch (Exception e) {
@@ -106,6 +125,7 @@ public class AliyunTagResourcesTemplate {
         tagResourcesRequest.setRegionId(client._regionId);
         tagResourcesRequest.setProdCode(DEFAULT_PROD_CODE);
         try {
+            rateLimiters.acquire("ListTagResources");
             ListTagResourcesResponse tagResourcesResponse = client.listTagResources(tagResourcesRequest);
             return tagResourcesResponse.getBody();
         } catch (Exception e) {
@@ -1,8 +1,11 @@
 package club.ensoul.framework.aliyun.sms.autoconfigure;
 
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
+import club.ensoul.framework.aliyun.retry.RetryPolicy;
 import club.ensoul.framework.aliyun.sms.*;
 import com.aliyun.dysmsapi20170525.Client;
 import com.aliyun.teaopenapi.models.Config;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -28,34 +31,46 @@ public class AliyunSMSAutoConfiguration {
         return new Client(config);
     }
 
+    @Bean("smsRateLimiters")
+    @ConditionalOnMissingBean(name = "smsRateLimiters")
+    public RateLimiterRegistry smsRateLimiters(SMSProperties smsProperties) {
+        return RateLimiterRegistry.of(smsProperties.getRateLimits());
+    }
+
+    @Bean("smsRetryPolicy")
+    @ConditionalOnMissingBean(name = "smsRetryPolicy")
+    public RetryPolicy smsRetryPolicy(SMSProperties smsProperties) {
+        return RetryPolicy.of(smsProperties.getRetry());
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public AliyunSmsSendTemplate aliyunSmsTemplate(Client ossClient) {
-        return new AliyunSmsSendTemplate(ossClient);
+    public AliyunSmsSendTemplate aliyunSmsTemplate(Client ossClient, @Qualifier("smsRateLimiters") RateLimiterRegistry smsRateLimiters, @Qualifier("smsRetryPolicy") RetryPolicy smsRetryPolicy) {
+        return new AliyunSmsSendTemplate(ossClient, smsRateLimiters, smsRetryPolicy);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AliyunShortUrlTemplate aliyunShortUrlTemplate(Client ossClient) {
-        return new AliyunShortUrlTemplate(ossClient);
+    public AliyunShortUrlTemplate aliyunShortUrlTemplate(Client ossClient, @Qualifier("smsRateLimiters") RateLimiterRegistry smsRateLimiters) {
+        return new AliyunShortUrlTemplate(ossClient, smsRateLimiters);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AliyunSmsTemplateTemplate aliyunSmsTemplateTemplate(Client ossClient) {
-        return new AliyunSmsTemplateTemplate(ossClient);
+    public AliyunSmsTemplateTemplate aliyunSmsTemplateTemplate(Client ossClient, @Qualifier("smsRateLimiters") RateLimiterRegistry smsRateLimiters) {
+        return new AliyunSmsTemplateTemplate(ossClient, smsRateLimiters);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AliyunSmsSignTemplate aliyunSmsSignTemplate(Client ossClient) {
-        return new AliyunSmsSignTemplate(ossClient);
+    public AliyunSmsSignTemplate aliyunSmsSignTemplate(Client ossClient, @Qualifier("smsRateLimiters") RateLimiterRegistry smsRateLimiters) {
+        return new AliyunSmsSignTemplate(ossClient, smsRateLimiters);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public AliyunTagResourcesTemplate aliyunTagResourcesTemplate(Client ossClient) {
-        return new AliyunTagResourcesTemplate(ossClient);
+    public AliyunTagResourcesTemplate aliyunTagResourcesTemplate(Client ossClient, @Qualifier("smsRateLimiters") RateLimiterRegistry smsRateLimiters) {
+        return new AliyunTagResourcesTemplate(ossClient, smsRateLimiters);
     }
 
 }
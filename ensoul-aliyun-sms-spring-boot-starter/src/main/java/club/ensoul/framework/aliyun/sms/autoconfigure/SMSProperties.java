@@ -2,6 +2,8 @@ package club.ensoul.framework.aliyun.sms.autoconfigure;
 
 import club.ensoul.framework.aliyun.sms.consts.Format;
 import club.ensoul.framework.aliyun.sms.consts.Protocol;
+import club.ensoul.framework.aliyun.ratelimit.RateLimit;
+import club.ensoul.framework.aliyun.retry.RetryConfig;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,6 +11,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -73,4 +78,15 @@ public class SMSProperties {
      **/
     private String receiveEndpoint1 = "1943695596114318.mns.cn-hangzhou.aliyuncs.com";
 
+    /**
+     * 按API名称限流，API名称为OpenAPI接口名称，如SendSms、SendBatchSms、AddShortUrl；没有配置的API不限流
+     **/
+    private Map<String, RateLimit> rateLimits = new HashMap<>();
+
+    /**
+     * 发送短信（AliyunSmsSendTemplate）的重试配置，默认不重试，配置maxAttempts大于1时开启。<br/>
+     * 开启后没有指定outId的请求会自动生成outId，用作重试的幂等键
+     **/
+    private RetryConfig retry = RetryConfig.disabled();
+
 }
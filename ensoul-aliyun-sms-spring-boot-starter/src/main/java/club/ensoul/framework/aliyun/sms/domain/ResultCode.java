@@ -1,5 +1,7 @@
 package club.ensoul.framework.aliyun.sms.domain;
 
+import club.ensoul.framework.aliyun.retry.ErrorCategory;
+
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -71,4 +73,27 @@ public enum ResultCode {
         return Arrays.stream(ResultCode.values()).filter(o -> o.code.equals(code)).findFirst();
     }
 
+    /**
+     * 错误码的分类，用于决定是否重试。<br/>
+     * 短信系统错误（isp.SYSTEM_ERROR）可以重试；业务限流（isv.BUSINESS_LIMIT_CONTROL）是按手机号的分钟/小时/天级流控，
+     * 日限额、余额不足等需要人工处理，短时间内重试都不会成功，和其他错误码一样按网关的公共错误码分类
+     *
+     * @see ErrorCategory#ofGatewayCode(String)
+     */
+    public ErrorCategory getCategory() {
+        if (this == isp_SYSTEM_ERROR) {
+            return ErrorCategory.TRANSIENT;
+        }
+        return ErrorCategory.ofGatewayCode(code);
+    }
+
+    /**
+     * 按错误码分类，不在本枚举中的错误码按OpenAPI网关的公共错误码分类
+     *
+     * @see ErrorCategory#ofGatewayCode(String)
+     */
+    public static ErrorCategory categoryOf(String code) {
+        return valueOfCode(code).map(ResultCode::getCategory).orElseGet(() -> ErrorCategory.ofGatewayCode(code));
+    }
+
 }
@@ -0,0 +1,157 @@
+package club.ensoul.framework.aliyun.sms;
+
+import club.ensoul.framework.aliyun.ratelimit.RateLimiterRegistry;
+import club.ensoul.framework.aliyun.retry.RetryBudget;
+import club.ensoul.framework.aliyun.retry.RetryConfig;
+import club.ensoul.framework.aliyun.retry.RetryPolicy;
+import club.ensoul.framework.aliyun.sms.domain.ResultCode;
+import club.ensoul.framework.aliyun.sms.exception.AliyunSmsSendException;
+import com.aliyun.dysmsapi20170525.Client;
+import com.aliyun.dysmsapi20170525.models.*;
+import com.aliyun.tea.TeaRetryableException;
+import com.aliyun.tea.TeaUnretryableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author wy_peng_chen6
+ */
+public class AliyunSmsSendTemplateTest {
+
+    private static final List<String> PHONE_NUMBERS = Arrays.asList("13800000000", "13900000000");
+
+    private Client client;
+    private AliyunSmsSendTemplate template;
+
+    @BeforeEach
+    public void setUp() {
+        client = mock(Client.class);
+        RetryPolicy retryPolicy = new RetryPolicy(3, Duration.ZERO, Duration.ofMillis(1), new RetryBudget(0.1, 100));
+        template = new AliyunSmsSendTemplate(client, RateLimiterRegistry.empty(), retryPolicy);
+    }
+
+    @Test
+    public void timeoutThenFoundByOutId() throws Exception {
+        ArgumentCaptor<SendSmsRequest> sent = ArgumentCaptor.forClass(SendSmsRequest.class);
+        when(client.sendSms(sent.capture())).thenThrow(_readTimeout());
+        when(client.querySendDetails(any())).thenAnswer(invocation -> _sendDetails(sent.getValue().getOutId()));
+
+        SendSmsResponseBody body = template.sendMessage("SMS_1", "{}", "sign", PHONE_NUMBERS);
+
+        assertEquals(ResultCode.OK.code, body.getCode());
+        verify(client, times(1)).sendSms(any());
+        assertFalse(sent.getValue().getOutId().isEmpty(), "开启重试时自动生成outId");
+
+        ArgumentCaptor<QuerySendDetailsRequest> query = ArgumentCaptor.forClass(QuerySendDetailsRequest.class);
+        verify(client, times(1)).querySendDetails(query.capture());
+        assertEquals("13800000000", query.getValue().getPhoneNumber());
+        assertEquals(LocalDate.now(ZoneId.of("Asia/Shanghai")).format(DateTimeFormatter.BASIC_ISO_DATE), query.getValue().getSendDate());
+    }
+
+    @Test
+    public void timeoutNeverResendAndPollUntilFound() throws Exception {
+        ArgumentCaptor<SendSmsRequest> sent = ArgumentCaptor.forClass(SendSmsRequest.class);
+        when(client.sendSms(sent.capture())).thenThrow(_readTimeout()).thenReturn(_sendResult(ResultCode.OK.code));
+        when(client.querySendDetails(any())).thenReturn(_sendDetails("another-out-id")).thenReturn(_sendDetails("biz-1"));
+
+        SendSmsResponseBody body = template.sendMessage("SMS_1", "{}", "sign", "biz-1", PHONE_NUMBERS);
+
+        assertEquals(ResultCode.OK.code, body.getCode());
+        verify(client, times(1)).sendSms(any());
+        verify(client, times(2)).querySendDetails(any());
+        assertEquals("biz-1", sent.getValue().getOutId(), "调用方指定的outId不会被替换");
+    }
+
+    @Test
+    public void connectFailureResendWithoutQuery() throws Exception {
+        when(client.sendSms(any()))
+                .thenThrow(new TeaUnretryableException(new TeaRetryableException(new ConnectException("Connection refused"))))
+                .thenReturn(_sendResult(ResultCode.OK.code));
+
+        SendSmsResponseBody body = template.sendMessage("SMS_1", "{}", "sign", PHONE_NUMBERS);
+
+        assertEquals(ResultCode.OK.code, body.getCode());
+        verify(client, times(2)).sendSms(any());
+        verify(client, never()).querySendDetails(any());
+    }
+
+    @Test
+    public void retryByResultCode() throws Exception {
+        when(client.sendSms(any()))
+                .thenReturn(_sendResult(ResultCode.isp_SYSTEM_ERROR.code))
+                .thenReturn(_sendResult(ResultCode.OK.code));
+
+        assertEquals(ResultCode.OK.code, template.sendMessage("SMS_1", "{}", "sign", PHONE_NUMBERS).getCode());
+        verify(client, times(2)).sendSms(any());
+        verify(client, never()).querySendDetails(any());
+    }
+
+    @Test
+    public void noRetryForPermanentCode() throws Exception {
+        when(client.sendSms(any())).thenReturn(_sendResult(ResultCode.isv_BUSINESS_LIMIT_CONTROL.code));
+
+        assertEquals(ResultCode.isv_BUSINESS_LIMIT_CONTROL.code, template.sendMessage("SMS_1", "{}", "sign", PHONE_NUMBERS).getCode());
+        verify(client, times(1)).sendSms(any());
+    }
+
+    @Test
+    public void giveUpAfterMaxAttempts() throws Exception {
+        when(client.sendSms(any())).thenThrow(_readTimeout());
+        when(client.querySendDetails(any())).thenReturn(_sendDetails(null));
+
+        AliyunSmsSendException e = assertThrows(AliyunSmsSendException.class, () -> template.sendMessage("SMS_1", "{}", "sign", PHONE_NUMBERS));
+        assertTrue(e.getCause() instanceof TeaUnretryableException, "查不到发送记录时抛出发送时的异常");
+        verify(client, times(1)).sendSms(any());
+        verify(client, times(2)).querySendDetails(any());
+    }
+
+    @Test
+    public void noRetryByDefault() throws Exception {
+        AliyunSmsSendTemplate defaultTemplate = new AliyunSmsSendTemplate(client, RateLimiterRegistry.empty(), RetryPolicy.of(RetryConfig.disabled()));
+        ArgumentCaptor<SendSmsRequest> sent = ArgumentCaptor.forClass(SendSmsRequest.class);
+        when(client.sendSms(sent.capture())).thenThrow(_readTimeout());
+
+        assertThrows(AliyunSmsSendException.class, () -> defaultTemplate.sendMessage("SMS_1", "{}", "sign", PHONE_NUMBERS));
+        verify(client, times(1)).sendSms(any());
+        verify(client, never()).querySendDetails(any());
+        assertNull(sent.getValue().getOutId(), "不重试时不生成outId");
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    /**
+     * SDK对读超时的包装方式
+     */
+    private static Exception _readTimeout() {
+        return new TeaUnretryableException(new TeaRetryableException(new SocketTimeoutException("Read timed out")));
+    }
+
+    private static SendSmsResponse _sendResult(String code) {
+        return new SendSmsResponse().setBody(new SendSmsResponseBody().setCode(code).setRequestId("request-id"));
+    }
+
+    private static QuerySendDetailsResponse _sendDetails(String outId) {
+        List<QuerySendDetailsResponseBody.QuerySendDetailsResponseBodySmsSendDetailDTOsSmsSendDetailDTO> details = new ArrayList<>();
+        if (outId != null) {
+            details.add(new QuerySendDetailsResponseBody.QuerySendDetailsResponseBodySmsSendDetailDTOsSmsSendDetailDTO().setOutId(outId));
+        }
+        QuerySendDetailsResponseBody.QuerySendDetailsResponseBodySmsSendDetailDTOs dtos = new QuerySendDetailsResponseBody.QuerySendDetailsResponseBodySmsSendDetailDTOs();
+        dtos.setSmsSendDetailDTO(details);
+        return new QuerySendDetailsResponse().setBody(new QuerySendDetailsResponseBody().setSmsSendDetailDTOs(dtos).setRequestId("query-id"));
+    }
+}
@@ -27,6 +27,7 @@ public abstract class AbstractPageRequest implements Pageable {
 
     private final boolean needTotal;
     private final boolean needContent;
+    private final boolean probeNext;
 
     @Getter
     private final boolean fixEdge;
@@ -34,6 +35,10 @@ public abstract class AbstractPageRequest implements Pageable {
     @Getter
     private final boolean pageNumberOneIndexed;
     private final ResortStrategy resortStrategy;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final TotalCountCache totalCountCache;
+    private final String countFingerprint;
 
     private Sort sort;
 
@@ -74,14 +79,51 @@ public abstract class AbstractPageRequest implements Pageable {
                                final boolean pageNumberOneIndexed,
                                final ResortStrategy resortStrategy,
                                final Order... orders) {
+        this(page, size, defaultPageSize, maxPageSize, needTotal, needContent, fixEdge, verbose, pageNumberOneIndexed,
+                false, resortStrategy, null, null, orders);
+    }
+
+    /**
+     * Creates a new {@link AbstractPageRequest}.
+     *
+     * @param page                 页码
+     * @param size                 每页数量
+     * @param needTotal            是否需要查询总记录数
+     * @param needContent          是否需要查询记录列表
+     * @param fixEdge              是否纠正分页边界错误，比如当page<起始页时，自动设置page=起始页
+     * @param verbose              返回冗余数据范围
+     * @param pageNumberOneIndexed 页码是否从1开始
+     * @param probeNext            是否多查询一条记录来判断有没有下一页
+     * @param resortStrategy       全局重排序策略
+     * @param totalCountCache      总记录数缓存
+     * @param countFingerprint     总记录数缓存中查询的指纹
+     * @param orders               排序规则
+     */
+    public AbstractPageRequest(final int page,
+                               final int size,
+                               final int defaultPageSize,
+                               final int maxPageSize,
+                               final boolean needTotal,
+                               final boolean needContent,
+                               final boolean fixEdge,
+                               final PageableVerbose verbose,
+                               final boolean pageNumberOneIndexed,
+                               final boolean probeNext,
+                               final ResortStrategy resortStrategy,
+                               @Nullable final TotalCountCache totalCountCache,
+                               @Nullable final String countFingerprint,
+                               final Order... orders) {
         this.defaultPageSize = defaultPageSize;
         this.maxPageSize = maxPageSize;
         this.needTotal = needTotal;
         this.needContent = needContent;
+        this.probeNext = probeNext;
         this.verbose = verbose == null ? PageDefaults.PAGEABLE_VERBOSE : verbose;
         this.fixEdge = fixEdge;
         this.pageNumberOneIndexed = pageNumberOneIndexed;
         this.resortStrategy = resortStrategy == null ? SortDefaults.RESORT_STRATEGY : resortStrategy;
+        this.totalCountCache = countFingerprint == null ? null : totalCountCache;
+        this.countFingerprint = totalCountCache == null ? null : countFingerprint;
         this.size = size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
         if (fixEdge) {
             this.page = Math.max(page, getFirstPageNumber());
@@ -92,7 +134,7 @@ public abstract class AbstractPageRequest implements Pageable {
             throw new PageRequestException("page number must not be less than " + getFirstPageNumber());
         }
         if (orders.length > 0) {
-            this.sort = new Sort(orders);
+            this.sort = Sort.of(orders);
         }
     }
 
@@ -116,6 +158,11 @@ public abstract class AbstractPageRequest implements Pageable {
         return needContent;
     }
 
+    @Override
+    public boolean probeNext() {
+        return probeNext;
+    }
+
     @Override
     public PageableVerbose verbose() {
         return verbose;
@@ -126,6 +173,18 @@ public abstract class AbstractPageRequest implements Pageable {
         return resortStrategy;
     }
 
+    @Nullable
+    @Override
+    public TotalCountCache totalCountCache() {
+        return totalCountCache;
+    }
+
+    @Nullable
+    @Override
+    public String countFingerprint() {
+        return countFingerprint;
+    }
+
     @Nullable
     @Override
     public Sort getSort(boolean applyResortStrategy) {
@@ -0,0 +1,67 @@
+package com.shimao.iot.core.page;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * 基于Caffeine的总记录数缓存，按数量和写入时间淘汰
+ * <p>
+ * 缓存的总数在maxStaleness内作为估算值返回，超过后重新执行count查询；
+ * 并发请求同一个查询时只会执行一次count查询，等待该查询的请求同样得到精确值
+ *
+ * @author striver.cradle
+ */
+public class CaffeineTotalCountCache implements TotalCountCache {
+
+    private final Cache<String, Entry> cache;
+
+    /**
+     * @param maximumSize  最多缓存的查询数
+     * @param maxStaleness 总数允许的最大过期时间
+     */
+    public CaffeineTotalCountCache(long maximumSize, Duration maxStaleness) {
+        Objects.requireNonNull(maxStaleness);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxStaleness)
+                .build();
+    }
+
+    @Override
+    public TotalCount get(String fingerprint, LongSupplier counter) {
+        Objects.requireNonNull(fingerprint);
+        Objects.requireNonNull(counter);
+        long start = System.nanoTime();
+        Entry entry = cache.get(fingerprint, key -> new Entry(counter.getAsLong(), System.nanoTime()));
+        // 在本次调用期间完成的count查询（包括等待其它线程正在执行的查询）都是精确值
+        return entry.countedAt - start >= 0 ? TotalCount.exact(entry.total) : TotalCount.estimated(entry.total);
+    }
+
+    @Override
+    public void invalidate(String fingerprint) {
+        cache.invalidate(fingerprint);
+    }
+
+    @Override
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static final class Entry {
+        private final long total;
+
+        /**
+         * count查询完成的时间，{@link System#nanoTime()}
+         */
+        private final long countedAt;
+
+        Entry(long total, long countedAt) {
+            this.total = total;
+            this.countedAt = countedAt;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.shimao.iot.core.page;
+
+import com.shimao.iot.core.sort.Order;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * @author striver.cradle
+ * @see PageBuilder#after(String)
+ */
+@ToString(callSuper = true)
+@EqualsAndHashCode(callSuper = true)
+public class CursorPageRequest extends PageRequest implements CursorPageable {
+
+    private final PageCursor cursor;
+
+    /**
+     * @see PageBuilder
+     */
+    CursorPageRequest(int page,
+                      int size,
+                      int defaultPageSize,
+                      int maxPageSize,
+                      boolean needTotal,
+                      boolean needContent,
+                      boolean fixEdge,
+                      PageableVerbose verbose,
+                      boolean pageNumberOneIndexed,
+                      boolean probeNext,
+                      ResortStrategy resortStrategy,
+                      TotalCountCache totalCountCache,
+                      String countFingerprint,
+                      @Nullable PageCursor cursor,
+                      Order... orders) {
+        super(page, size, defaultPageSize, maxPageSize, needTotal, needContent, fixEdge, verbose, pageNumberOneIndexed,
+                probeNext, resortStrategy, totalCountCache, countFingerprint, orders);
+        this.cursor = cursor;
+    }
+
+    @Nullable
+    @Override
+    public PageCursor getCursor() {
+        return cursor;
+    }
+
+    /**
+     * 游标只对应当前页：页码不变时保留游标，页码改变时（如{@link #fixEdge(Long)}跳至最后一页）清除游标，按offset分页
+     */
+    @NonNull
+    @Override
+    public Pageable jumpTo(int page) {
+        if (page == getPageNumber()) {
+            return _withCursor(super.jumpTo(page));
+        }
+        return super.jumpTo(page);
+    }
+
+    @NonNull
+    @Override
+    public Pageable copy() {
+        return _withCursor(super.jumpTo(getPageNumber()));
+    }
+
+    @NonNull
+    @Override
+    public Pageable config(PageConfigKey key, boolean enabled) {
+        return _withCursor(super.config(key, enabled));
+    }
+
+    @NonNull
+    @Override
+    public Pageable config(@Nullable PageableVerbose verbose) {
+        return _withCursor(super.config(verbose));
+    }
+
+    @NonNull
+    @Override
+    public Pageable config(@Nullable ResortStrategy strategy) {
+        return _withCursor(super.config(strategy));
+    }
+
+    private Pageable _withCursor(Pageable pageable) {
+        return PageBuilder.from((AbstractPageRequest) pageable).after(cursor).build();
+    }
+}
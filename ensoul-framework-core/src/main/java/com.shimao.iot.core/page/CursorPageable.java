@@ -0,0 +1,41 @@
+package com.shimao.iot.core.page;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 游标分页（keyset/seek）信息
+ * <p>
+ * 数据层不再按offset跳过记录，而是按排序规则查询位于游标之后的记录，如排序规则为a asc, b desc时，条件为
+ * {@code a > ? or (a = ? and b < ?)}，任意深度的分页代价都和第一页相同
+ *
+ * @author striver.cradle
+ * @see PageBuilder#after(String)
+ * @see Page#nextCursor()
+ */
+public interface CursorPageable extends Pageable {
+
+    /**
+     * 上一页的游标，为null时表示从第一条记录开始
+     */
+    @Nullable
+    PageCursor getCursor();
+
+    /**
+     * 上一页最后一条记录的排序字段值，和{@link #getSort()}中的排序规则一一对应，为空时表示从第一条记录开始
+     */
+    default List<Object> getAfter() {
+        PageCursor cursor = getCursor();
+        return cursor == null ? Collections.emptyList() : cursor.getValues();
+    }
+
+    /**
+     * 游标分页不跳过记录
+     */
+    @Override
+    default int getOffset() {
+        return 0;
+    }
+}
@@ -1,11 +1,18 @@
 package com.shimao.iot.core.page;
 
+import com.shimao.iot.core.sort.Sort;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 /**
@@ -25,6 +32,13 @@ public interface Page<T> extends Iterable<T> {
      */
     Long getTotal();
 
+    /**
+     * 总数是否为精确值，取自{@link TotalCountCache}的总数为估算值，可能与实际记录数有出入
+     */
+    default boolean isTotalExact() {
+        return true;
+    }
+
     /**
      * 总页数（如果不做count查询，则如果结果集大小不等于每页数量，就返回当前页，反之，返回null）
      */
@@ -123,6 +137,22 @@ public interface Page<T> extends Iterable<T> {
         return getLastPageNumber() == null ? null : current().jumpTo(getLastPageNumber());
     }
 
+    /**
+     * 下一页的游标，用于游标分页{@link PageBuilder#after(String)}，由当前页最后一条记录的排序字段值编码而成
+     * <p>
+     * 没有排序规则，或者结果集大小小于每页数量、探测到没有下一页（{@link Pageable#probeNext()}）时返回null
+     */
+    @Nullable
+    default String nextCursor() {
+        Sort sort = current().getSort();
+        List<T> content = getContent();
+        if (sort == null || content == null || content.isEmpty() || content.size() < current().getPageSize()
+                || current().probeNext() && !hasNext()) {
+            return null;
+        }
+        return PageCursor.encode(sort, content.get(content.size() - 1));
+    }
+
     /**
      * Returns a new {@link Page} with the content of the current one mapped by the given {@link Function}.
      *
@@ -132,6 +162,97 @@ public interface Page<T> extends Iterable<T> {
 
     <S> Page<S> mapAll(Function<List<T>, List<S>> mapper);
 
+    /**
+     * 在executor中并发映射每个元素，结果保持原有顺序，{@link #current()}和总数不变
+     * <p>
+     * 适合mapper需要调用远程服务的场景；mapper抛出的异常原样抛出
+     *
+     * @param mapper   must not be {@literal null}.
+     * @param executor 执行mapper的线程池
+     */
+    @NonNull
+    default <S> Page<S> mapParallel(Function<? super T, ? extends S> mapper, Executor executor) {
+        try {
+            return this.<S>mapAsync(mapper, executor).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * 在{@link ForkJoinPool#commonPool()}中异步映射
+     *
+     * @see #mapAsync(Function, Executor)
+     */
+    @NonNull
+    default <S> CompletableFuture<Page<S>> mapAsync(Function<? super T, ? extends S> mapper) {
+        return mapAsync(mapper, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 在executor中并发映射每个元素，不阻塞当前线程，结果保持原有顺序，{@link #current()}和总数不变
+     *
+     * @param mapper   must not be {@literal null}.
+     * @param executor 执行mapper的线程池
+     */
+    @NonNull
+    default <S> CompletableFuture<Page<S>> mapAsync(Function<? super T, ? extends S> mapper, Executor executor) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(executor);
+        List<T> content = getContent();
+        List<CompletableFuture<? extends S>> futures = new ArrayList<>(content.size());
+        for (T element : content) {
+            futures.add(CompletableFuture.supplyAsync(() -> mapper.apply(element), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<S> result = new ArrayList<>(futures.size());
+            futures.forEach(future -> result.add(future.join()));
+            return PageImpl.copyOf(result, this);
+        });
+    }
+
+    /**
+     * 把结果集拆分成每批batchSize个元素，在executor中并发映射各批，再按原有顺序合并，{@link #current()}和总数不变
+     *
+     * @param mapper    批量映射，must not be {@literal null}.
+     * @param batchSize 每批的元素数量
+     * @param executor  执行mapper的线程池
+     */
+    @NonNull
+    default <S> Page<S> mapAll(Function<List<T>, List<S>> mapper, int batchSize, Executor executor) {
+        Objects.requireNonNull(mapper);
+        Objects.requireNonNull(executor);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be greater than 0!");
+        }
+        List<T> content = getContent();
+        if (content.size() <= batchSize) {
+            return mapAll(mapper);
+        }
+        List<CompletableFuture<List<S>>> futures = new ArrayList<>((content.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < content.size(); from += batchSize) {
+            List<T> batch = content.subList(from, Math.min(from + batchSize, content.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> mapper.apply(batch), executor));
+        }
+        List<S> result = new ArrayList<>(content.size());
+        try {
+            futures.forEach(future -> result.addAll(future.join()));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        return PageImpl.copyOf(result, this);
+    }
+
+    /**
+     * 复制结果集，返回一个不再依赖原结果集的{@link Page}，惰性映射的结果集会在此时一次性完成映射
+     *
+     * @see PageImpl#wrap(List, Pageable, Long)
+     */
+    @NonNull
+    default Page<T> materialize() {
+        return PageImpl.copyOf(getContent(), this);
+    }
+
     @NonNull
     @Override
     default Iterator<T> iterator() {
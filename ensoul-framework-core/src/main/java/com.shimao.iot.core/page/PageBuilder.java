@@ -22,11 +22,16 @@ public class PageBuilder {
 
     private boolean needTotal = PageDefaults.NEED_TOTAL;
     private boolean needContent = PageDefaults.NEED_CONTENT;
+    private boolean probeNext;
     private boolean fixEdge = PageDefaults.IS_FIX_EDGE;
     private PageableVerbose verbose = PageDefaults.PAGEABLE_VERBOSE;
     private boolean pageNumberOneIndexed = PageDefaults.PAGE_NUMBER_ONE_INDEXED;
     private ResortStrategy resortStrategy = SortDefaults.RESORT_STRATEGY;
     private List<Order> orders = new ArrayList();
+    private TotalCountCache totalCountCache;
+    private String countFingerprint;
+    private boolean cursorMode;
+    private PageCursor cursor;
 
     private PageBuilder(int page) {
         this.page = page;
@@ -40,6 +45,25 @@ public class PageBuilder {
         return new PageBuilder(page);
     }
 
+    /**
+     * 复制已有的分页信息
+     */
+    static PageBuilder from(AbstractPageRequest pageable) {
+        return page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .defaultPageSize(pageable.getDefaultPageSize())
+                .maxPageSize(pageable.getMaxPageSize())
+                .needTotal(pageable.needTotal())
+                .needContent(pageable.needContent())
+                .fixEdge(pageable.isFixEdge())
+                .verbose(pageable.verbose())
+                .pageNumberOneIndexed(pageable.isPageNumberOneIndexed())
+                .probeNext(pageable.probeNext())
+                .resortStrategy(pageable.resortStrategy())
+                .totalCountCache(pageable.totalCountCache(), pageable.countFingerprint())
+                .sort(pageable.getSort());
+    }
+
     public PageBuilder size(int size) {
         this.size = size;
         return this;
@@ -65,6 +89,14 @@ public class PageBuilder {
         return this;
     }
 
+    /**
+     * 多查询一条记录来判断有没有下一页，见{@link Pageable#probeNext()}
+     */
+    public PageBuilder probeNext(boolean probeNext) {
+        this.probeNext = probeNext;
+        return this;
+    }
+
     public PageBuilder fixEdge(boolean fixEdge) {
         this.fixEdge = fixEdge;
         return this;
@@ -86,6 +118,18 @@ public class PageBuilder {
         return this;
     }
 
+    /**
+     * 使用总记录数缓存，见{@link Pageable#count(java.util.function.LongSupplier)}
+     *
+     * @param totalCountCache  总记录数缓存，为null时不使用缓存
+     * @param countFingerprint 查询的指纹，见{@link TotalCountCache#fingerprint(String, Object...)}
+     */
+    public PageBuilder totalCountCache(@Nullable TotalCountCache totalCountCache, @Nullable String countFingerprint) {
+        this.totalCountCache = totalCountCache;
+        this.countFingerprint = countFingerprint;
+        return this;
+    }
+
     public PageBuilder sort(Direction direction, String... fields) {
         Stream.of(fields).forEach(field -> orders.add(new Order(direction, field)));
         return this;
@@ -98,11 +142,52 @@ public class PageBuilder {
         return this;
     }
 
+    /**
+     * 游标分页，查询位于游标之后的记录，生成{@link CursorPageable}
+     * <p>
+     * 未指定排序规则时使用游标中的排序规则，否则两者必须完全一致（包括ignoreCase和nullHandling）
+     *
+     * @param cursor 上一页的{@link Page#nextCursor()}，为null时表示游标分页的第一页
+     * @throws PageRequestException 游标格式错误或签名不匹配
+     */
+    public PageBuilder after(@Nullable String cursor) {
+        return after(cursor == null ? null : PageCursor.decode(cursor));
+    }
+
+    /**
+     * 游标分页，查询位于游标之后的记录，生成{@link CursorPageable}
+     *
+     * @see #after(String)
+     */
+    public PageBuilder after(@Nullable PageCursor cursor) {
+        this.cursorMode = true;
+        this.cursor = cursor;
+        return this;
+    }
+
     public Pageable build() {
+        if (cursor != null) {
+            if (orders.isEmpty()) {
+                cursor.getSort().forEach(orders::add);
+            } else if (!new Sort(orders).equals(cursor.getSort())) {
+                // 方向、是否忽略大小写、null的排序位置都影响游标条件，必须全部一致
+                throw new PageRequestException("cursor does not match sort " + orders);
+            }
+        }
+        if (cursorMode) {
+            return new CursorPageRequest(
+                    page, size, defaultPageSize, maxPageSize,
+                    needTotal, needContent,
+                    fixEdge, verbose, pageNumberOneIndexed, probeNext, resortStrategy,
+                    totalCountCache, countFingerprint,
+                    cursor, orders.toArray(new Order[]{})
+            );
+        }
         return new PageRequest(
                 page, size, defaultPageSize, maxPageSize,
                 needTotal, needContent,
-                fixEdge, verbose, pageNumberOneIndexed, resortStrategy,
+                fixEdge, verbose, pageNumberOneIndexed, probeNext, resortStrategy,
+                totalCountCache, countFingerprint,
                 orders.toArray(new Order[]{})
         );
     }
@@ -0,0 +1,118 @@
+package com.shimao.iot.core.page;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shimao.iot.core.sort.Sort;
+import lombok.Value;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 分页查询结果缓存，按查询标识、过滤条件和分页信息（offset、每页数量、重排序后的排序规则、是否查询总数/记录列表、游标）缓存整页结果
+ * <p>
+ * 使用方法：
+ * <pre>
+ *     private final PageCache pageCache = new PageCache(1000, Duration.ofSeconds(30));
+ *
+ *     public Page&lt;DeviceVO&gt; page(DeviceQuery query, Pageable pageable) {
+ *         return pageCache.get("device.list", query, pageable, p -> deviceService.page(query, p));
+ *     }
+ *
+ *     public void update(Device device) {
+ *         ...
+ *         pageCache.invalidate("device.list");
+ *     }
+ * </pre>
+ * 并发请求同一页时只会执行一次查询，其余请求等待并共享查询结果
+ *
+ * @author striver.cradle
+ */
+public class PageCache {
+
+    private final Cache<Key, Page<?>> cache;
+
+    /**
+     * 每个查询标识的缓存版本，{@link #invalidate(String)}时加1，旧版本的缓存不再命中，等待过期淘汰
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * @param maximumSize 最多缓存的分页结果数
+     * @param ttl         分页结果缓存的时间
+     */
+    public PageCache(long maximumSize, Duration ttl) {
+        Objects.requireNonNull(ttl);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * 获取分页结果，缓存中没有时调用loader查询并缓存
+     * <p>
+     * 缓存的是结果的副本（{@link Page#materialize()}），不受loader返回的视图后续修改的影响；
+     * 返回的结果集是缓存副本的只读视图，不再复制，{@link Page#current()}为本次请求的pageable
+     *
+     * @param queryId  查询标识，用于{@link #invalidate(String)}
+     * @param filter   过滤条件，需正确实现equals和hashCode，可以为null
+     * @param pageable 分页信息
+     * @param loader   查询一页数据
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Page<T> get(String queryId, @Nullable Object filter, Pageable pageable,
+                           Function<Pageable, Page<T>> loader) {
+        Objects.requireNonNull(queryId);
+        Objects.requireNonNull(pageable);
+        Objects.requireNonNull(loader);
+        Page<T> page = (Page<T>) cache.get(Key.of(queryId, _generation(queryId).get(), filter, pageable),
+                key -> loader.apply(pageable).materialize());
+        return PageImpl.rebind(page, pageable);
+    }
+
+    /**
+     * 数据变更后清除指定查询的所有缓存
+     * <p>
+     * 只增加该查询的缓存版本，不遍历缓存；之后的请求不再命中旧版本的缓存，正在执行的查询完成后也只写入旧版本
+     */
+    public void invalidate(String queryId) {
+        Objects.requireNonNull(queryId);
+        _generation(queryId).incrementAndGet();
+    }
+
+    public void invalidateAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        cache.invalidateAll();
+    }
+
+    private AtomicLong _generation(String queryId) {
+        return generations.computeIfAbsent(queryId, id -> new AtomicLong());
+    }
+
+    @Value
+    private static class Key {
+        String       queryId;
+        long         generation;
+        Object       filter;
+        int          offset;
+        int          size;
+        Sort         sort;
+        boolean      needTotal;
+        boolean      needContent;
+        boolean      probeNext;
+        List<Object> after;
+
+        static Key of(String queryId, long generation, @Nullable Object filter, Pageable pageable) {
+            List<Object> after = pageable instanceof CursorPageable ? ((CursorPageable) pageable).getAfter() : null;
+            return new Key(queryId, generation, filter, pageable.getOffset(), pageable.getPageSize(), pageable.getSort(true),
+                    pageable.needTotal(), pageable.needContent(), pageable.probeNext(), after);
+        }
+    }
+}
@@ -7,5 +7,6 @@ public enum PageConfigKey {
     NEED_TOTAL,
     NEED_CONTENT,
     FIX_EDGE,
-    PAGE_NUMBER_ONE_INDEXED
+    PAGE_NUMBER_ONE_INDEXED,
+    PROBE_NEXT
 }
\ No newline at end of file
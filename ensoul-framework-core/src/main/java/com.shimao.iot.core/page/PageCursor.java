@@ -0,0 +1,249 @@
+package com.shimao.iot.core.page;
+
+import com.shimao.iot.core.sort.Direction;
+import com.shimao.iot.core.sort.Order;
+import com.shimao.iot.core.sort.Sort;
+import lombok.Getter;
+import lombok.ToString;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 游标分页（keyset）的游标，记录上一页最后一条记录的排序字段值
+ * <p>
+ * 游标编码成不透明的字符串返回给客户端，并用HMAC-SHA256签名防止篡改。签名密钥默认取系统属性
+ * {@value #SECRET_PROPERTY}，未设置时每次启动随机生成，多实例部署时需要通过系统属性或{@link #setSecret(String)}
+ * 配置相同的密钥，否则其它实例签发的游标会校验失败
+ *
+ * @author striver.cradle
+ * @see CursorPageable
+ */
+@Getter
+@ToString
+public final class PageCursor {
+
+    public static final String SECRET_PROPERTY = "ensoul.page.cursor-secret";
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static volatile SecretKeySpec secret = _initSecret();
+
+    /**
+     * 游标对应的排序规则
+     */
+    private final Sort sort;
+
+    /**
+     * 上一页最后一条记录的排序字段值，和排序规则一一对应
+     */
+    private final List<Object> values;
+
+    private PageCursor(Sort sort, List<Object> values) {
+        this.sort = sort;
+        this.values = Collections.unmodifiableList(values);
+    }
+
+    /**
+     * 设置签名密钥
+     */
+    public static void setSecret(String secret) {
+        Objects.requireNonNull(secret);
+        PageCursor.secret = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    /**
+     * 读取元素的排序字段值，生成游标
+     *
+     * @param sort    当前的排序规则
+     * @param element 当前页最后一条记录
+     */
+    public static String encode(Sort sort, Object element) {
+        Objects.requireNonNull(sort);
+        Objects.requireNonNull(element);
+        List<Object> values = new ArrayList<>();
+        for (Order order : sort) {
+            @SuppressWarnings("unchecked")
+            Class<Object> type = (Class<Object>) element.getClass();
+            values.add(order.toGetter(type).apply(element));
+        }
+        return encode(sort, values);
+    }
+
+    /**
+     * 按排序规则和对应的排序字段值生成游标
+     */
+    public static String encode(Sort sort, List<Object> values) {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            List<Order> orders = new ArrayList<>();
+            sort.forEach(orders::add);
+            if (orders.size() != values.size()) {
+                throw new IllegalArgumentException("Cursor values must match the orders of " + sort);
+            }
+            out.writeShort(orders.size());
+            for (int i = 0; i < orders.size(); i++) {
+                Order order = orders.get(i);
+                out.writeUTF(order.getProperty());
+                out.writeByte(order.getDirection().ordinal());
+                out.writeBoolean(order.isIgnoreCase());
+                out.writeByte(order.getNullHandling().ordinal());
+                _writeValue(out, values.get(i));
+            }
+            out.flush();
+            byte[] payload = bytes.toByteArray();
+            return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(_sign(payload));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 校验签名并解析游标
+     *
+     * @throws PageRequestException 游标格式错误或签名不匹配
+     */
+    public static PageCursor decode(String cursor) {
+        Objects.requireNonNull(cursor);
+        int dot = cursor.indexOf('.');
+        if (dot < 0) {
+            throw new PageRequestException("Invalid cursor");
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(cursor.substring(0, dot));
+            signature = DECODER.decode(cursor.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new PageRequestException("Invalid cursor", e);
+        }
+        if (!MessageDigest.isEqual(signature, _sign(payload))) {
+            throw new PageRequestException("Invalid cursor signature");
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int size = in.readShort();
+            Order[] orders = new Order[size];
+            List<Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String property = in.readUTF();
+                Direction direction = Direction.values()[in.readByte()];
+                boolean ignoreCase = in.readBoolean();
+                Order.NullHandling nullHandling = Order.NullHandling.values()[in.readByte()];
+                Order order = new Order(direction, property, nullHandling);
+                orders[i] = ignoreCase ? order.ignoreCase() : order;
+                values.add(_readValue(in));
+            }
+            return new PageCursor(Sort.of(orders), values);
+        } catch (IOException | RuntimeException e) {
+            throw new PageRequestException("Invalid cursor", e);
+        }
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private static SecretKeySpec _initSecret() {
+        String configured = System.getProperty(SECRET_PROPERTY);
+        if (configured != null && !configured.isEmpty()) {
+            return new SecretKeySpec(configured.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        }
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return new SecretKeySpec(random, ALGORITHM);
+    }
+
+    private static byte[] _sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(secret);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void _writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte('N');
+        } else if (value instanceof String) {
+            out.writeByte('S');
+            out.writeUTF((String) value);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte('I');
+            out.writeInt(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte('J');
+            out.writeLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte('D');
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+            out.writeByte(value instanceof BigDecimal ? 'M' : 'B');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Boolean) {
+            out.writeByte('Z');
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Date) {
+            out.writeByte('T');
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Instant || value instanceof LocalDateTime || value instanceof LocalDate) {
+            out.writeByte(value instanceof Instant ? 't' : value instanceof LocalDateTime ? 'l' : 'd');
+            out.writeUTF(value.toString());
+        } else if (value instanceof Enum<?>) {
+            // 枚举按名称记录，数据层按字符串比较
+            out.writeByte('S');
+            out.writeUTF(((Enum<?>) value).name());
+        } else if (value instanceof UUID) {
+            out.writeByte('U');
+            out.writeUTF(value.toString());
+        } else {
+            throw new IllegalArgumentException("Unsupported cursor value type: " + value.getClass());
+        }
+    }
+
+    private static Object _readValue(DataInputStream in) throws IOException {
+        char tag = (char) in.readByte();
+        switch (tag) {
+            case 'N':
+                return null;
+            case 'S':
+                return in.readUTF();
+            case 'I':
+                return in.readInt();
+            case 'J':
+                return in.readLong();
+            case 'D':
+                return in.readDouble();
+            case 'M':
+                return new BigDecimal(in.readUTF());
+            case 'B':
+                return new BigInteger(in.readUTF());
+            case 'Z':
+                return in.readBoolean();
+            case 'T':
+                return new Date(in.readLong());
+            case 't':
+                return Instant.parse(in.readUTF());
+            case 'l':
+                return LocalDateTime.parse(in.readUTF());
+            case 'd':
+                return LocalDate.parse(in.readUTF());
+            case 'U':
+                return UUID.fromString(in.readUTF());
+            default:
+                throw new IOException("Unknown cursor value tag: " + tag);
+        }
+    }
+}
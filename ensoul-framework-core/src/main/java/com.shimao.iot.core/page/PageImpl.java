@@ -1,9 +1,17 @@
 package com.shimao.iot.core.page;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
 
@@ -13,24 +21,105 @@ import java.util.function.Function;
 @Data
 public class PageImpl<T> implements Page<T> {
 
-    private final List<T>  content = new ArrayList<>();
+    private final List<T>  content;
     private final Long     total;
     private final Pageable current;
 
+    /**
+     * 是否为视图模式，视图模式下不复制结果集，{@link #map(Function)}返回惰性映射的视图
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final boolean view;
+
+    /**
+     * 总数是否为精确值，false表示取自{@link TotalCountCache}的估算值
+     */
+    private final boolean totalExact;
+
+    /**
+     * {@link Pageable#probeNext()}时探测到的是否有下一页，否则为null
+     */
+    @Getter(AccessLevel.NONE)
+    private final Boolean probedNext;
+
     public PageImpl(List<T> content, Pageable pageable) {
         this(content, pageable, null);
     }
 
     public PageImpl(List<T> content, Pageable pageable, Long total) {
+        this(content, pageable, total, false, true, null);
+    }
+
+    private PageImpl(List<T> content, Pageable pageable, Long total, boolean view, boolean totalExact,
+                     Boolean probedNext) {
+        this(content, pageable, total, view, totalExact, probedNext, false);
+    }
+
+    /**
+     * @param shared 是否直接使用content，不复制也不包装，调用方需保证content只读
+     */
+    private PageImpl(List<T> content, Pageable pageable, Long total, boolean view, boolean totalExact,
+                     Boolean probedNext, boolean shared) {
         if (content == null) {
             throw new IllegalArgumentException("Content must not be null!");
         }
         if (pageable == null) {
             throw new IllegalArgumentException("Pageable must not be null!");
         }
-        this.content.addAll(content);
+        if (probedNext == null && pageable.probeNext()) {
+            // 多查询的一条记录只用来判断有没有下一页
+            probedNext = content.size() > pageable.getPageSize();
+            if (probedNext) {
+                content = content.subList(0, pageable.getPageSize());
+            }
+        }
+        this.content = shared ? content : view ? Collections.unmodifiableList(content) : new ArrayList<>(content);
         this.current = pageable;
         this.total = total;
+        this.view = view;
+        this.totalExact = total == null || totalExact;
+        this.probedNext = probedNext;
+    }
+
+    /**
+     * 按{@link Pageable#count(java.util.function.LongSupplier)}得到的总数创建分页结果
+     *
+     * @param total 总数，为null时表示不做count查询
+     */
+    public static <T> PageImpl<T> of(List<T> content, Pageable pageable, @Nullable TotalCount total) {
+        return total == null ? new PageImpl<>(content, pageable)
+                : new PageImpl<>(content, pageable, total.getTotal(), false, total.isExact(), null);
+    }
+
+    /**
+     * 创建视图模式的分页结果，直接包装content而不复制，content之后的修改会反映到结果中
+     * <p>
+     * 视图模式下{@link #map(Function)}不会立即执行mapper，而是在读取元素时才映射，且每次读取都会重新映射；
+     * 需要多次读取或者mapper开销较大时，用{@link #materialize()}复制一份
+     */
+    public static <T> PageImpl<T> wrap(List<T> content, Pageable pageable, Long total) {
+        return new PageImpl<>(content, pageable, total, true, true, null);
+    }
+
+    /**
+     * @see #wrap(List, Pageable, Long)
+     */
+    public static <T> PageImpl<T> wrap(List<T> content, Pageable pageable) {
+        return wrap(content, pageable, null);
+    }
+
+    /**
+     * 不做count查询时，按探测结果确定是否为最后一页
+     */
+    @Nullable
+    @Override
+    public Integer getLastPageNumber() {
+        if (total == null && probedNext != null) {
+            return probedNext ? null : current.getPageNumber();
+        }
+        return Page.super.getLastPageNumber();
     }
 
     @NonNull
@@ -42,17 +131,77 @@ public class PageImpl<T> implements Page<T> {
     @NonNull
     @Override
     public <S> Page<S> map(Function<? super T, ? extends S> mapper) {
+        if (view) {
+            return new PageImpl<>(new MappedList<>(content, mapper), current, total, true, totalExact, probedNext);
+        }
         List<S> result = new ArrayList<>(content.size());
         for (T element : this) {
             result.add(mapper.apply(element));
         }
-        return new PageImpl<>(result, current, total);
+        return new PageImpl<>(result, current, total, false, totalExact, probedNext);
     }
 
     @NonNull
     @Override
     public <S> Page<S> mapAll(Function<List<T>, List<S>> mapper) {
         List<S> result = mapper.apply(content);
-        return new PageImpl<>(result, current, total);
+        return new PageImpl<>(result, current, total, view, totalExact, probedNext);
+    }
+
+    /**
+     * 以source的分页信息和总数创建新的分页结果，复制content
+     */
+    static <T> PageImpl<T> copyOf(List<T> content, Page<?> source) {
+        Boolean probedNext = source.current().probeNext() ? source.hasNext() : null;
+        return new PageImpl<>(content, source.current(), source.getTotal(), false, source.isTotalExact(), probedNext);
+    }
+
+    /**
+     * 把source的结果集和总数绑定到另一个查询结果相同的pageable上，不复制content，返回结果的content为source结果集的只读视图
+     */
+    static <T> PageImpl<T> rebind(Page<T> source, Pageable pageable) {
+        Boolean probedNext = pageable.probeNext() ? source.hasNext() : null;
+        return new PageImpl<>(Collections.unmodifiableList(source.getContent()), pageable, source.getTotal(), false,
+                source.isTotalExact(), probedNext, true);
+    }
+
+    /**
+     * 惰性映射的只读视图，读取元素时才调用mapper
+     */
+    private static final class MappedList<T, S> extends AbstractList<S> {
+
+        private final List<T> source;
+        private final Function<? super T, ? extends S> mapper;
+
+        MappedList(List<T> source, Function<? super T, ? extends S> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public S get(int index) {
+            return mapper.apply(source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public Iterator<S> iterator() {
+            Iterator<T> iterator = source.iterator();
+            return new Iterator<S>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public S next() {
+                    return mapper.apply(iterator.next());
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,84 @@
+package com.shimao.iot.core.page;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 分页元数据，一次性计算好的不可变快照
+ * <p>
+ * 总页数和结果集大小各只计算一次，isLast、hasNext等按{@link Page}中的默认定义由它们推导，
+ * 不再调用{@link Page#isLast()}、{@link Page#hasNext()}重复计算总页数
+ *
+ * @author striver.cradle
+ * @see PageVerbose
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+final class PageMetadata {
+
+    /**
+     * 总页数未知（不做count查询，且无法判断是否为最后一页）
+     */
+    static final int UNKNOWN_TOTAL_PAGE = -1;
+
+    private final int     currentPage;
+    private final int     currentSize;
+    private final int     pageSize;
+    private final boolean first;
+    private final boolean last;
+    @Getter(AccessLevel.NONE)
+    private final boolean hasPrevious;
+    @Getter(AccessLevel.NONE)
+    private final boolean hasNext;
+
+    /**
+     * 总页数，未知时为{@link #UNKNOWN_TOTAL_PAGE}
+     */
+    private final int totalPage;
+
+    /**
+     * 是否做了count查询
+     */
+    @Getter(AccessLevel.NONE)
+    private final boolean hasTotal;
+
+    /**
+     * 总数是否为精确值，见{@link Page#isTotalExact()}
+     */
+    private final boolean totalExact;
+
+    private PageMetadata(Page<?> page) {
+        Pageable current = page.current();
+        int firstPageNumber = current.getFirstPageNumber();
+        Integer lastPageNumber = page.getLastPageNumber();
+        this.currentPage = current.getPageNumber();
+        this.currentSize = page.getContent().size();
+        this.pageSize = current.getPageSize();
+        this.first = currentPage == firstPageNumber;
+        this.hasPrevious = currentPage > firstPageNumber;
+        this.last = lastPageNumber == null ? currentSize != pageSize : currentPage == lastPageNumber;
+        this.hasNext = lastPageNumber == null ? currentSize == pageSize : currentPage < lastPageNumber;
+        this.totalPage = lastPageNumber == null ? UNKNOWN_TOTAL_PAGE : lastPageNumber;
+        this.hasTotal = page.getTotal() != null;
+        this.totalExact = page.isTotalExact();
+    }
+
+    static PageMetadata of(Page<?> page) {
+        return new PageMetadata(page);
+    }
+
+    public boolean hasPrevious() {
+        return hasPrevious;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public boolean hasTotal() {
+        return hasTotal;
+    }
+}
@@ -31,10 +31,13 @@ public class PageRequest extends AbstractPageRequest {
                 boolean fixEdge,
                 PageableVerbose verbose,
                 boolean pageNumberOneIndexed,
+                boolean probeNext,
                 ResortStrategy resortStrategy,
+                TotalCountCache totalCountCache,
+                String countFingerprint,
                 Order... orders) {
         super(page, size, defaultPageSize, maxPageSize, needTotal, needContent, fixEdge, verbose, pageNumberOneIndexed,
-                resortStrategy, orders);
+                probeNext, resortStrategy, totalCountCache, countFingerprint, orders);
     }
 
     @NonNull
@@ -49,7 +52,9 @@ public class PageRequest extends AbstractPageRequest {
                 .fixEdge(isFixEdge())
                 .verbose(verbose())
                 .pageNumberOneIndexed(isPageNumberOneIndexed())
+                .probeNext(probeNext())
                 .resortStrategy(resortStrategy())
+                .totalCountCache(totalCountCache(), countFingerprint())
                 .sort(getSort())
                 .build();
     }
@@ -66,7 +71,9 @@ public class PageRequest extends AbstractPageRequest {
                 .fixEdge(key == PageConfigKey.FIX_EDGE ? enabled : isFixEdge())
                 .verbose(verbose())
                 .pageNumberOneIndexed(key == PageConfigKey.PAGE_NUMBER_ONE_INDEXED ? enabled : isPageNumberOneIndexed())
+                .probeNext(key == PageConfigKey.PROBE_NEXT ? enabled : probeNext())
                 .resortStrategy(resortStrategy())
+                .totalCountCache(totalCountCache(), countFingerprint())
                 .sort(getSort())
                 .build();
     }
@@ -84,7 +91,9 @@ public class PageRequest extends AbstractPageRequest {
                 .fixEdge(isFixEdge())
                 .verbose(verbose)
                 .pageNumberOneIndexed(isPageNumberOneIndexed())
+                .probeNext(probeNext())
                 .resortStrategy(resortStrategy())
+                .totalCountCache(totalCountCache(), countFingerprint())
                 .sort(getSort())
                 .build();
     }
@@ -102,7 +111,9 @@ public class PageRequest extends AbstractPageRequest {
                 .fixEdge(isFixEdge())
                 .verbose(verbose())
                 .pageNumberOneIndexed(isPageNumberOneIndexed())
+                .probeNext(probeNext())
                 .resortStrategy(strategy)
+                .totalCountCache(totalCountCache(), countFingerprint())
                 .sort(getSort())
                 .build();
     }
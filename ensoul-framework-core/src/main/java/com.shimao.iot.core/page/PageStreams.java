@@ -0,0 +1,138 @@
+package com.shimao.iot.core.page;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 逐页遍历整个结果集
+ * <p>
+ * 使用方法：
+ * <pre>
+ *     PageStreams.stream(pageable -> deviceService.page(query, pageable), PageBuilder.firstPage().size(500).build())
+ *             .forEach(device -> ...);
+ * </pre>
+ *
+ * @author striver.cradle
+ */
+public abstract class PageStreams {
+
+    /**
+     * 返回遍历所有页的惰性流，内存中最多只保留一页数据
+     * <p>
+     * 按{@link Page#hasNext()}和{@link Page#next()}翻页，游标分页则按{@link Page#nextCursor()}翻页；
+     * 不做count查询时，最后一页恰好满页会多查询一次，查到空页后结束
+     *
+     * @param fetcher 查询一页数据
+     * @param first   第一页
+     */
+    public static <T> Stream<T> stream(Function<Pageable, Page<T>> fetcher, Pageable first) {
+        return _stream(fetcher, first, null);
+    }
+
+    /**
+     * 返回遍历所有页的惰性流，并预读下一页：消费第N页的同时在executor中查询第N+1页，内存中最多保留两页数据
+     *
+     * @param fetcher   查询一页数据，必须是线程安全的
+     * @param first     第一页
+     * @param readAhead 预读下一页的线程池
+     * @see #stream(Function, Pageable)
+     */
+    public static <T> Stream<T> stream(Function<Pageable, Page<T>> fetcher, Pageable first, Executor readAhead) {
+        Objects.requireNonNull(readAhead);
+        return _stream(fetcher, first, readAhead);
+    }
+
+    private static <T> Stream<T> _stream(Function<Pageable, Page<T>> fetcher, Pageable first,
+                                         @Nullable Executor readAhead) {
+        Objects.requireNonNull(fetcher);
+        Objects.requireNonNull(first);
+        PageSpliterator<T> spliterator = new PageSpliterator<>(fetcher, first, readAhead);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * 下一页，没有下一页时返回null
+     */
+    @Nullable
+    private static Pageable _nextPageable(Page<?> page) {
+        if (page.getContent() == null || page.getContent().isEmpty() || !page.hasNext()) {
+            return null;
+        }
+        Pageable current = page.current();
+        if (current instanceof CursorPageable && current instanceof AbstractPageRequest) {
+            String cursor = page.nextCursor();
+            return cursor == null ? null : PageBuilder.from((AbstractPageRequest) current).after(cursor).build();
+        }
+        return page.next();
+    }
+
+    private static final class PageSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final Function<Pageable, Page<T>> fetcher;
+        private final Executor readAhead;
+
+        private Pageable pending;
+        private CompletableFuture<Page<T>> prefetched;
+        private Iterator<T> iterator = Collections.emptyIterator();
+
+        PageSpliterator(Function<Pageable, Page<T>> fetcher, Pageable first, @Nullable Executor readAhead) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.fetcher = fetcher;
+            this.readAhead = readAhead;
+            this.pending = first;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            while (!iterator.hasNext()) {
+                if (pending == null && prefetched == null) {
+                    return false;
+                }
+                Page<T> page = _fetch();
+                iterator = page.iterator();
+                pending = _nextPageable(page);
+                if (pending != null && readAhead != null) {
+                    Pageable next = pending;
+                    prefetched = CompletableFuture.supplyAsync(() -> fetcher.apply(next), readAhead);
+                    pending = null;
+                }
+            }
+            action.accept(iterator.next());
+            return true;
+        }
+
+        private Page<T> _fetch() {
+            if (prefetched == null) {
+                return fetcher.apply(pending);
+            }
+            try {
+                return prefetched.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            } finally {
+                prefetched = null;
+            }
+        }
+
+        void close() {
+            if (prefetched != null) {
+                prefetched.cancel(false);
+                prefetched = null;
+            }
+            pending = null;
+            iterator = Collections.emptyIterator();
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.shimao.iot.core.page;
 
+import com.shimao.iot.core.sort.Sort;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+
 /**
  * @author striver.cradle
  */
@@ -14,10 +19,102 @@ public abstract class PageUtil {
     }
 
     public static int getLastPageNumber(long total, int pageSize) {
-        return (int) Math.ceil((double) total / (double) pageSize);
+        return (int) ((total + pageSize - 1) / pageSize);
     }
 
     public static int getOffset(int firstPageNumber, int pageNumber, int pageSize) {
         return (pageNumber - firstPageNumber) * pageSize;
     }
+
+    /**
+     * 对内存中的集合分页，按{@link Pageable#getSort()}排序，属性通过getter读取
+     *
+     * @param type 元素的类型
+     * @see #page(Collection, Pageable, Comparator)
+     */
+    public static <T> Page<T> page(Collection<T> collection, Pageable pageable, Class<T> type) {
+        Sort sort = pageable.getSort();
+        return page(collection, pageable, sort == null ? null : sort.toComparator(type));
+    }
+
+    /**
+     * 对内存中的集合分页
+     * <p>
+     * 只保留前offset+size个元素的有界堆，复杂度O(n log(offset+size))，不需要对整个集合排序；
+     * 排序是稳定的，相等的元素保持集合的迭代顺序。总数直接取集合大小，不复制集合
+     *
+     * @param comparator 排序规则，为null时按集合的迭代顺序分页
+     */
+    public static <T> Page<T> page(Collection<T> collection, Pageable pageable, @Nullable Comparator<? super T> comparator) {
+        Objects.requireNonNull(collection);
+        Objects.requireNonNull(pageable);
+        long total = collection.size();
+        pageable = pageable.fixEdge(total);
+        Long pageTotal = pageable.needTotal() ? total : null;
+        if (!pageable.needContent()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, pageTotal);
+        }
+        int offset = pageable.getOffset();
+        int limit = pageable.getFetchSize();
+        if (offset >= total) {
+            return new PageImpl<>(Collections.emptyList(), pageable, pageTotal);
+        }
+        return new PageImpl<>(_topK(collection, offset, limit, comparator), pageable, pageTotal);
+    }
+
+    /**
+     * 取排序后[offset, offset+limit)范围内的元素
+     */
+    private static <T> List<T> _topK(Collection<T> collection, int offset, int limit, Comparator<? super T> comparator) {
+        int k = (int) Math.min((long) offset + limit, collection.size());
+        List<T> content = new ArrayList<>(k - offset);
+        if (comparator == null) {
+            Iterator<T> iterator = collection.iterator();
+            for (int i = 0; i < k; i++) {
+                T element = iterator.next();
+                if (i >= offset) {
+                    content.add(element);
+                }
+            }
+            return content;
+        }
+
+        // 大顶堆，堆顶为当前前k个元素中最大的，序号用于保证排序稳定
+        Comparator<Indexed<T>> order = (e1, e2) -> {
+            int c = comparator.compare(e1.value, e2.value);
+            return c != 0 ? c : Integer.compare(e1.index, e2.index);
+        };
+        PriorityQueue<Indexed<T>> heap = new PriorityQueue<>(k, order.reversed());
+        int index = 0;
+        for (T element : collection) {
+            if (heap.size() < k) {
+                heap.add(new Indexed<>(index, element));
+            } else if (comparator.compare(element, heap.peek().value) < 0) {
+                heap.poll();
+                heap.add(new Indexed<>(index, element));
+            }
+            index++;
+        }
+
+        Object[] sorted = new Object[heap.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = heap.poll().value;
+        }
+        for (int i = offset; i < sorted.length; i++) {
+            @SuppressWarnings("unchecked")
+            T element = (T) sorted[i];
+            content.add(element);
+        }
+        return content;
+    }
+
+    private static final class Indexed<T> {
+        private final int index;
+        private final T value;
+
+        private Indexed(int index, T value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
 }
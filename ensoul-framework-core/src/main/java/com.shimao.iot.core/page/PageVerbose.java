@@ -1,12 +1,12 @@
 package com.shimao.iot.core.page;
 
 import com.shimao.iot.core.sort.Order;
+import com.shimao.iot.core.sort.Sort;
 import com.shimao.iot.core.sort.SortOrderDTO;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.Data;
 
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -45,17 +45,20 @@ public class PageVerbose {
     @ApiModelProperty(value = "每页数量", position = 9)
     private Integer pageSize;
 
+    @ApiModelProperty(value = "总页数是否为精确值", position = 10)
+    private Boolean totalExact;
+
     private <E> PageVerbose(Page<E> page) {
         Pageable current = page.current();
         switch (current.verbose()) {
             case PAGE:
-                setPage(page, current);
+                setPage(PageMetadata.of(page));
                 break;
             case SORT:
                 setSort(current);
                 break;
             case ALL:
-                setPage(page, current);
+                setPage(PageMetadata.of(page));
                 setSort(current);
                 break;
             default:
@@ -63,25 +66,22 @@ public class PageVerbose {
         }
     }
 
-    private <E> void setPage(Page<E> page, Pageable current) {
-        this.currentPage = current.getPageNumber();
-        this.currentSize = page.getContent().size();
-        this.isFirst = page.isFirst();
-        this.isLast = page.isLast();
-        this.hasPrevious = page.hasPrevious();
-        this.hasNext = page.hasNext();
-        this.totalPage = page.getLastPageNumber();
-        this.pageSize = current.getPageSize();
+    private void setPage(PageMetadata metadata) {
+        this.currentPage = metadata.getCurrentPage();
+        this.currentSize = metadata.getCurrentSize();
+        this.isFirst = metadata.isFirst();
+        this.isLast = metadata.isLast();
+        this.hasPrevious = metadata.hasPrevious();
+        this.hasNext = metadata.hasNext();
+        this.totalPage = metadata.getTotalPage() == PageMetadata.UNKNOWN_TOTAL_PAGE ? null : metadata.getTotalPage();
+        this.pageSize = metadata.getPageSize();
+        this.totalExact = metadata.hasTotal() ? metadata.isTotalExact() : null;
     }
 
     private void setSort(Pageable current) {
-        if (current.getSort() != null) {
-            Iterator<Order> iterator = current.getSort().iterator();
-            List<SortOrderDTO> sortOrderDTOS = new ArrayList<>();
-            while (iterator.hasNext()) {
-                sortOrderDTOS.add(new SortOrderDTO(iterator.next()));
-            }
-            this.sort = sortOrderDTOS;
+        Sort sort = current.getSort();
+        if (sort != null) {
+            this.sort = sort.toSortOrderDTOs();
         }
     }
 
@@ -91,4 +91,77 @@ public class PageVerbose {
         }
         return Optional.of(new PageVerbose(page));
     }
+
+    /**
+     * 不创建{@link PageVerbose}，直接把分页冗余信息以JSON写入out，结果与序列化{@link #of(Page)}得到的对象一致
+     * <p>
+     * 适合高频的列表接口自行拼接响应体，避免每次请求都创建冗余信息对象
+     *
+     * @return verbose为{@link PageableVerbose#NONE}时不写入任何内容，返回false
+     */
+    public static boolean writeJson(Page<?> page, Appendable out) throws IOException {
+        PageableVerbose verbose = page.current().verbose();
+        if (verbose == PageableVerbose.NONE) {
+            return false;
+        }
+        PageMetadata metadata = verbose == PageableVerbose.SORT ? null : PageMetadata.of(page);
+        Sort sort = verbose == PageableVerbose.PAGE ? null : page.current().getSort();
+        out.append("{\"currentPage\":");
+        if (metadata == null) {
+            out.append("null,\"currentSize\":null,\"isFirst\":null,\"isLast\":null,\"hasPrevious\":null,"
+                    + "\"hasNext\":null,\"totalPage\":null,\"sort\":");
+        } else {
+            out.append(Integer.toString(metadata.getCurrentPage()))
+                    .append(",\"currentSize\":").append(Integer.toString(metadata.getCurrentSize()))
+                    .append(",\"isFirst\":").append(metadata.isFirst() ? "true" : "false")
+                    .append(",\"isLast\":").append(metadata.isLast() ? "true" : "false")
+                    .append(",\"hasPrevious\":").append(metadata.hasPrevious() ? "true" : "false")
+                    .append(",\"hasNext\":").append(metadata.hasNext() ? "true" : "false")
+                    .append(",\"totalPage\":").append(metadata.getTotalPage() == PageMetadata.UNKNOWN_TOTAL_PAGE
+                            ? "null" : Integer.toString(metadata.getTotalPage()))
+                    .append(",\"sort\":");
+        }
+        if (sort == null) {
+            out.append("null");
+        } else {
+            out.append('[');
+            boolean first = true;
+            for (Order order : sort) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                out.append("{\"property\":");
+                _writeString(order.getProperty(), out);
+                out.append(",\"direction\":\"").append(order.getDirection().name()).append("\"}");
+            }
+            out.append(']');
+        }
+        if (metadata == null) {
+            out.append(",\"pageSize\":null,\"totalExact\":null}");
+        } else {
+            out.append(",\"pageSize\":").append(Integer.toString(metadata.getPageSize()))
+                    .append(",\"totalExact\":").append(!metadata.hasTotal() ? "null"
+                            : metadata.isTotalExact() ? "true" : "false")
+                    .append('}');
+        }
+        return true;
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private static void _writeString(String value, Appendable out) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
 }
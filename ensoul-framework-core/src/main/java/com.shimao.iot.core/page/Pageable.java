@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 /**
  * Abstract interface for pagination information.
@@ -65,6 +66,56 @@ public interface Pageable {
      */
     boolean needContent();
 
+    /**
+     * 是否多查询一条记录来判断有没有下一页，适合不做count查询的场景（如无限滚动）
+     * <p>
+     * 开启后数据层应查询{@link #getFetchSize()}条记录，{@link PageImpl}会去掉多出的一条并记录是否有下一页，
+     * 避免最后一页恰好满页时误判为还有下一页
+     */
+    default boolean probeNext() {
+        return false;
+    }
+
+    /**
+     * 数据层应查询的记录数，{@link #probeNext()}时为每页数量+1
+     */
+    default int getFetchSize() {
+        return probeNext() ? getPageSize() + 1 : getPageSize();
+    }
+
+    /**
+     * 总记录数缓存，为null时每次都执行count查询
+     */
+    @Nullable
+    default TotalCountCache totalCountCache() {
+        return null;
+    }
+
+    /**
+     * 总记录数缓存中查询的指纹
+     *
+     * @see TotalCountCache#fingerprint(String, Object...)
+     */
+    @Nullable
+    default String countFingerprint() {
+        return null;
+    }
+
+    /**
+     * 获取总记录数，配置了{@link #totalCountCache()}时优先取缓存
+     *
+     * @param counter 执行count查询
+     */
+    @NonNull
+    default TotalCount count(LongSupplier counter) {
+        TotalCountCache cache = totalCountCache();
+        String fingerprint = countFingerprint();
+        if (cache == null || fingerprint == null) {
+            return TotalCount.exact(counter.getAsLong());
+        }
+        return cache.get(fingerprint, counter);
+    }
+
     /**
      * 是否纠正分页边界错误，比如当page<1时，自动设置page=1
      * <p>
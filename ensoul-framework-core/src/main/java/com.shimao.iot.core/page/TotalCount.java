@@ -0,0 +1,31 @@
+package com.shimao.iot.core.page;
+
+import lombok.Value;
+
+/**
+ * 总记录数
+ *
+ * @author striver.cradle
+ * @see TotalCountCache
+ */
+@Value
+public class TotalCount {
+
+    /**
+     * 总记录数
+     */
+    long total;
+
+    /**
+     * 是否为本次查询得到的精确值，false表示取自缓存的估算值
+     */
+    boolean exact;
+
+    public static TotalCount exact(long total) {
+        return new TotalCount(total, true);
+    }
+
+    public static TotalCount estimated(long total) {
+        return new TotalCount(total, false);
+    }
+}
@@ -0,0 +1,64 @@
+package com.shimao.iot.core.page;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * 总记录数缓存，避免每次分页查询都执行count查询
+ * <p>
+ * 使用方法：
+ * <pre>
+ *     Pageable pageable = PageBuilder.page(page)
+ *             .totalCountCache(cache, TotalCountCache.fingerprint("device.list", tenantId, status))
+ *             .build();
+ *     TotalCount total = pageable.count(() -> deviceMapper.count(tenantId, status));
+ *     return PageImpl.of(content, pageable, total);
+ * </pre>
+ *
+ * @author striver.cradle
+ * @see CaffeineTotalCountCache
+ */
+public interface TotalCountCache {
+
+    /**
+     * 获取总记录数，缓存中没有时调用counter查询并缓存
+     *
+     * @param fingerprint 查询的指纹，见{@link #fingerprint(String, Object...)}
+     * @param counter     执行count查询
+     * @return 本次调用期间完成的count查询（包括等待的并发查询）得到的为精确值，取自缓存的为估算值
+     */
+    TotalCount get(String fingerprint, LongSupplier counter);
+
+    /**
+     * 数据变更后清除指定查询的缓存
+     */
+    void invalidate(String fingerprint);
+
+    void invalidateAll();
+
+    /**
+     * 生成查询的指纹：规范化的查询语句（或查询标识）+过滤条件
+     * <p>
+     * 查询语句会去掉首尾空白并把连续的空白合并成一个空格
+     *
+     * @param query   查询语句或查询标识
+     * @param filters 过滤条件，需正确实现toString
+     */
+    static String fingerprint(String query, Object... filters) {
+        StringBuilder normalized = new StringBuilder(query.length() + 16 * filters.length);
+        boolean whitespace = false;
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                whitespace = normalized.length() > 0;
+            } else {
+                if (whitespace) {
+                    normalized.append(' ');
+                    whitespace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.append('#').append(Arrays.deepToString(filters)).toString();
+    }
+}
@@ -1,7 +1,13 @@
 package com.shimao.iot.core.sort;
 
+import com.shimao.iot.core.utils.ReflectUtil;
 import lombok.Data;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.ResolvableType;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.function.Function;
 
 
 /**
@@ -15,6 +21,16 @@ public class Order {
     public static final Direction DEFAULT_DIRECTION = Direction.ASC;
     private static final boolean DEFAULT_IGNORE_CASE = false;
 
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> NATURAL_ORDER = (o1, o2) -> ((Comparable<Object>) o1).compareTo(o2);
+
+    private static final Comparator<Object> CASE_INSENSITIVE_ORDER = (o1, o2) -> {
+        if (o1 instanceof CharSequence && o2 instanceof CharSequence) {
+            return String.CASE_INSENSITIVE_ORDER.compare(o1.toString(), o2.toString());
+        }
+        return NATURAL_ORDER.compare(o1, o2);
+    };
+
     private final Direction direction;
     private final String property;
     private final boolean ignoreCase;
@@ -62,7 +78,7 @@ public class Order {
      * Returns a {@link Order} with the given property.
      */
     public Order with(String property) {
-        if (StringUtils.isNotBlank(property)) {
+        if (StringUtils.isNotBlank(property) && !property.equals(this.property)) {
             return new Order(direction, property, ignoreCase, nullHandling);
         }
         return this;
@@ -128,6 +144,44 @@ public class Order {
         NULLS_LAST
     }
 
+    /**
+     * 生成按该属性比较的{@link Comparator}，属性通过{@link ReflectUtil#getGetter(Class, String)}缓存的getter读取，
+     * 支持用"."访问嵌套属性，如"user.name"
+     * <p>
+     * 属性值必须实现{@link Comparable}；{@link NullHandling#NATIVE}时null视为最小值
+     *
+     * @param type 待排序元素的类型
+     * @throws IllegalArgumentException 找不到属性对应的getter
+     */
+    public <T> Comparator<T> toComparator(Class<T> type) {
+        Function<T, Object> getter = _getter(type, property);
+        Comparator<Object> comparator = ignoreCase ? CASE_INSENSITIVE_ORDER : NATURAL_ORDER;
+        if (!isAscending()) {
+            comparator = comparator.reversed();
+        }
+        switch (nullHandling) {
+            case NULLS_FIRST:
+                comparator = Comparator.nullsFirst(comparator);
+                break;
+            case NULLS_LAST:
+                comparator = Comparator.nullsLast(comparator);
+                break;
+            default:
+                comparator = isAscending() ? Comparator.nullsFirst(comparator) : Comparator.nullsLast(comparator);
+        }
+        return Comparator.comparing(getter, comparator);
+    }
+
+    /**
+     * 生成读取该属性值的函数，支持用"."访问嵌套属性
+     *
+     * @param type 元素的类型
+     * @throws IllegalArgumentException 找不到属性对应的getter
+     */
+    public <T> Function<T, Object> toGetter(Class<T> type) {
+        return _getter(type, property);
+    }
+
     public String toQueryString() {
         return this.property + "," + this.direction.toString().toLowerCase();
     }
@@ -137,4 +191,25 @@ public class Order {
                 org.springframework.data.domain.Sort.Direction.fromString(this.direction.name());
         return new org.springframework.data.domain.Sort.Order(direction, this.property);
     }
+
+    /**
+     * 获取属性的getter，嵌套属性在生成时按getter声明的返回类型逐级解析，找不到属性时立即失败，比较时不再查找
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, Object> _getter(Class<T> type, String property) {
+        int dot = property.indexOf('.');
+        if (dot < 0) {
+            return ReflectUtil.getGetter(type, property);
+        }
+        String name = property.substring(0, dot);
+        Function<T, Object> head = ReflectUtil.getGetter(type, name);
+        Method method = ReflectUtil.findGetterMethod(type, name)
+                .orElseThrow(() -> new IllegalArgumentException(type + " has no getter for property " + name));
+        Class<?> headType = ResolvableType.forMethodReturnType(method, type).resolve(method.getReturnType());
+        Function<Object, Object> rest = _getter((Class<Object>) headType, property.substring(dot + 1));
+        return t -> {
+            Object value = head.apply(t);
+            return value == null ? null : rest.apply(value);
+        };
+    }
 }
@@ -1,25 +1,49 @@
 package com.shimao.iot.core.sort;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.shimao.iot.core.page.ResortStrategy;
 import com.shimao.iot.core.utils.ListUtil;
 import lombok.ToString;
-import lombok.val;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 
 /**
+ * 排序规则，不可变
+ * <p>
+ * {@link #of(Order...)}、{@link #intern()}以及{@link #and(Sort)}、{@link #resort(ResortStrategy)}等方法返回的实例
+ * 都是驻留的，相等的排序规则共享同一个实例，可以直接作为缓存的key；
+ * {@link #toQueryStrings()}、{@link #toSpringSort()}、{@link #resort(ResortStrategy)}的结果缓存在实例上
+ *
  * @author striver.cradle
  */
-@ToString
+@ToString(onlyExplicitlyIncluded = true)
 public class Sort implements Iterable<Order> {
 
+    private static final Interner<Sort> INTERNER = Interners.newWeakInterner();
+
+    /**
+     * 每个实例最多缓存的{@link ResortStrategy}结果数，避免临时创建的策略撑大缓存
+     */
+    private static final int MAX_RESORTED = 8;
+
+    @ToString.Include
     private final List<Order> orders;
 
+    private final int hash;
+
+    private volatile List<String> queryStrings;
+    private volatile List<SortOrderDTO> sortOrderDTOs;
+    private volatile org.springframework.data.domain.Sort springSort;
+    private volatile ConcurrentMap<ResortStrategy, Sort> resorted;
+
     public Sort(Order... orders) {
         this(Arrays.asList(orders));
     }
@@ -47,7 +71,29 @@ public class Sort implements Iterable<Order> {
      * @param clean  是否清理错误的规则
      */
     private Sort(List<Order> orders, boolean clean) {
-        this.orders = clean ? _clean(orders) : orders;
+        this.orders = Collections.unmodifiableList(clean ? _clean(orders) : new ArrayList<>(orders));
+        this.hash = this.orders.hashCode();
+    }
+
+    /**
+     * 返回驻留的排序规则
+     */
+    public static Sort of(Order... orders) {
+        return new Sort(orders).intern();
+    }
+
+    /**
+     * 返回驻留的排序规则
+     */
+    public static Sort of(List<Order> orders) {
+        return new Sort(orders).intern();
+    }
+
+    /**
+     * 返回与当前排序规则相等的驻留实例，相等的排序规则共享同一个实例和它缓存的结果
+     */
+    public Sort intern() {
+        return INTERNER.intern(this);
     }
 
     /**
@@ -62,7 +108,7 @@ public class Sort implements Iterable<Order> {
         for (Order order : sort) {
             these.add(order);
         }
-        return new Sort(these);
+        return of(these);
     }
 
     /**
@@ -77,14 +123,51 @@ public class Sort implements Iterable<Order> {
         return Optional.empty();
     }
 
+    /**
+     * 去掉指定属性的排序规则，不存在时返回当前实例
+     */
+    public Sort without(String property) {
+        List<Order> these = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            if (!order.getProperty().equals(property)) {
+                these.add(order);
+            }
+        }
+        return these.size() == orders.size() ? this : new Sort(these, false).intern();
+    }
+
     @Override
     @NonNull
     public Iterator<Order> iterator() {
         return this.orders.iterator();
     }
 
+    /**
+     * 转换成查询参数，结果不可修改
+     */
     public List<String> toQueryStrings() {
-        return this.orders.stream().map(Order::toQueryString).collect(toList());
+        List<String> strings = this.queryStrings;
+        if (strings == null) {
+            strings = Collections.unmodifiableList(this.orders.stream().map(Order::toQueryString).collect(toList()));
+            this.queryStrings = strings;
+        }
+        return strings;
+    }
+
+    /**
+     * 转换成返回给前端的排序规则，结果不可修改，同一个实例重复调用返回缓存的结果
+     */
+    public List<SortOrderDTO> toSortOrderDTOs() {
+        List<SortOrderDTO> dtos = this.sortOrderDTOs;
+        if (dtos == null) {
+            List<SortOrderDTO> list = new ArrayList<>(orders.size());
+            for (Order order : orders) {
+                list.add(new SortOrderDTO(order));
+            }
+            dtos = Collections.unmodifiableList(list);
+            this.sortOrderDTOs = dtos;
+        }
+        return dtos;
     }
 
     /**
@@ -92,8 +175,20 @@ public class Sort implements Iterable<Order> {
      */
     public Sort resort(ResortStrategy strategy) {
         Objects.requireNonNull(strategy);
-        val orders = this.orders.stream().map(strategy::transfer).collect(toList());
-        return new Sort(orders, true);
+        ConcurrentMap<ResortStrategy, Sort> resorted = this.resorted;
+        if (resorted == null) {
+            resorted = new ConcurrentHashMap<>(4);
+            this.resorted = resorted;
+        }
+        Sort result = resorted.get(strategy);
+        if (result == null) {
+            List<Order> orders = this.orders.stream().map(strategy::transfer).collect(toList());
+            result = new Sort(orders, true).intern();
+            if (resorted.size() < MAX_RESORTED) {
+                resorted.putIfAbsent(strategy, result);
+            }
+        }
+        return result;
     }
 
     /**
@@ -109,22 +204,49 @@ public class Sort implements Iterable<Order> {
     public Sort resort(String property, Function<Order, Sort> resortHandler) {
         Objects.requireNonNull(property);
         Objects.requireNonNull(resortHandler);
-        return removeOrderFor(property).map(order -> and(resortHandler.apply(order))).orElse(this);
+        return findOrderFor(property).map(order -> without(property).and(resortHandler.apply(order))).orElse(this);
     }
 
-    public Optional<Order> removeOrderFor(String property) {
-        for (int i = 0; i < orders.size(); i++) {
-            final Order order = orders.get(i);
-            if (order.getProperty().equals(property)) {
-                orders.remove(i);
-                return Optional.of(order);
-            }
+    /**
+     * 把排序规则编译成一个{@link Comparator}，用于在内存中排序，按规则的先后顺序依次比较
+     *
+     * @param type 待排序元素的类型
+     * @throws IllegalArgumentException 找不到属性对应的getter
+     * @see Order#toComparator(Class)
+     */
+    public <T> Comparator<T> toComparator(Class<T> type) {
+        Objects.requireNonNull(type);
+        Comparator<T> comparator = (t1, t2) -> 0;
+        for (Order order : orders) {
+            comparator = comparator.thenComparing(order.toComparator(type));
         }
-        return Optional.empty();
+        return comparator;
     }
 
     public org.springframework.data.domain.Sort toSpringSort() {
-        return org.springframework.data.domain.Sort.by(this.orders.stream().map(Order::toSpringOrder).collect(toList()));
+        org.springframework.data.domain.Sort sort = this.springSort;
+        if (sort == null) {
+            sort = org.springframework.data.domain.Sort.by(this.orders.stream().map(Order::toSpringOrder).collect(toList()));
+            this.springSort = sort;
+        }
+        return sort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Sort)) {
+            return false;
+        }
+        Sort that = (Sort) o;
+        return hash == that.hash && orders.equals(that.orders);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
     }
 
     /*-------------------------------私有方法-------------------------------*/
@@ -0,0 +1,94 @@
+package com.shimao.iot.core.sort;
+
+import com.shimao.iot.core.page.PageRequestException;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按参数上的{@link SortLimit}过滤客户端请求的排序规则
+ * <p>
+ * 每个参数的注解只查找一次，白名单只编译一次，结果缓存在实例中，缓存大小以接收排序规则的参数个数为上限；
+ * 可以在启动时调用{@link #compile(Class)}预先编译，否则在第一次请求时编译
+ *
+ * @author striver.cradle
+ */
+public class SortLimitResolver {
+
+    private final Map<MethodParameter, Optional<Limit>> limits = new ConcurrentHashMap<>();
+
+    /**
+     * 预先编译类中所有方法参数上的{@link SortLimit}
+     */
+    public void compile(Class<?> type) {
+        for (Method method : type.getMethods()) {
+            for (int i = 0; i < method.getParameterCount(); i++) {
+                _getLimit(new MethodParameter(method, i));
+            }
+        }
+    }
+
+    /**
+     * 参数上的排序白名单，没有{@link SortLimit}或者没有配置规则时为空
+     */
+    public Optional<SortWhitelist> getWhitelist(MethodParameter parameter) {
+        return _getLimit(parameter).map(limit -> limit.whitelist);
+    }
+
+    /**
+     * 按参数上的{@link SortLimit}过滤排序规则，去掉不在白名单中的规则
+     *
+     * @param parameter 接收排序规则的参数
+     * @param sort      客户端请求的排序规则
+     * @return 过滤后的排序规则，没有剩余规则时返回null
+     * @throws PageRequestException {@link SortLimit#required()}为true，但没有剩余的排序规则
+     */
+    @Nullable
+    public Sort resolve(MethodParameter parameter, @Nullable Sort sort) {
+        Optional<Limit> limit = _getLimit(parameter);
+        if (!limit.isPresent()) {
+            return sort;
+        }
+        SortWhitelist whitelist = limit.get().whitelist;
+        Sort result = whitelist == null ? sort : whitelist.filter(sort);
+        if (result == null && limit.get().required) {
+            throw new PageRequestException("sort is required");
+        }
+        return result;
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private Optional<Limit> _getLimit(MethodParameter parameter) {
+        Objects.requireNonNull(parameter);
+        return limits.computeIfAbsent(parameter, SortLimitResolver::_compile);
+    }
+
+    private static Optional<Limit> _compile(MethodParameter parameter) {
+        SortLimit limit = parameter.getParameterAnnotation(SortLimit.class);
+        if (limit == null) {
+            return Optional.empty();
+        }
+        SortWhitelist whitelist = limit.value().length == 0 ? null : SortWhitelist.compile(limit.value());
+        return Optional.of(new Limit(whitelist, limit.required()));
+    }
+
+    /**
+     * 编译后的{@link SortLimit}
+     */
+    private static final class Limit {
+        @Nullable
+        private final SortWhitelist whitelist;
+        private final boolean       required;
+
+        Limit(@Nullable SortWhitelist whitelist, boolean required) {
+            this.whitelist = whitelist;
+            this.required = required;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.shimao.iot.core.sort;
+
+import com.shimao.iot.core.page.PageRequestException;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 编译好的排序白名单，用于{@link SortLimit}
+ * <p>
+ * 规则格式同排序参数：{@code property}表示允许该属性的两种排序方向，{@code property,asc}或{@code property,desc}
+ * 表示只允许指定的方向。规则编译成一棵扁平化的字典树，匹配一个属性只需按字符走一遍，不分配内存
+ *
+ * @author striver.cradle
+ * @see SortLimitResolver
+ */
+public final class SortWhitelist {
+
+    private static final byte ASC = 1;
+    private static final byte DESC = 2;
+
+    /**
+     * 每个节点的子节点字符，已排序
+     */
+    private final char[][] labels;
+
+    /**
+     * 每个节点的子节点编号，和labels一一对应
+     */
+    private final int[][] children;
+
+    /**
+     * 每个节点允许的排序方向，0表示不是完整的属性
+     */
+    private final byte[] directions;
+
+    private SortWhitelist(char[][] labels, int[][] children, byte[] directions) {
+        this.labels = labels;
+        this.children = children;
+        this.directions = directions;
+    }
+
+    /**
+     * 编译排序白名单
+     *
+     * @param rules 规则，如{@code "createTime"}、{@code "id,desc"}
+     * @throws IllegalArgumentException 规则格式错误
+     */
+    public static SortWhitelist compile(String... rules) {
+        Objects.requireNonNull(rules);
+        Node root = new Node();
+        int count = 1;
+        for (String rule : rules) {
+            int comma = rule.indexOf(',');
+            String property = (comma < 0 ? rule : rule.substring(0, comma)).trim();
+            if (property.isEmpty()) {
+                throw new IllegalArgumentException("Invalid sort limit: " + rule);
+            }
+            byte direction = comma < 0 ? ASC | DESC : _toBit(Direction.fromString(rule.substring(comma + 1).trim()));
+            Node node = root;
+            for (int i = 0; i < property.length(); i++) {
+                Node child = node.children.get(property.charAt(i));
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(property.charAt(i), child);
+                    count++;
+                }
+                node = child;
+            }
+            node.directions |= direction;
+        }
+        char[][] labels = new char[count][];
+        int[][] children = new int[count][];
+        byte[] directions = new byte[count];
+        _flatten(root, 0, new int[]{1}, labels, children, directions);
+        return new SortWhitelist(labels, children, directions);
+    }
+
+    /**
+     * 是否允许按该属性和方向排序
+     */
+    public boolean allows(String property, Direction direction) {
+        int node = 0;
+        for (int i = 0; i < property.length(); i++) {
+            int index = Arrays.binarySearch(labels[node], property.charAt(i));
+            if (index < 0) {
+                return false;
+            }
+            node = children[node][index];
+        }
+        return (directions[node] & _toBit(direction)) != 0;
+    }
+
+    public boolean allows(Order order) {
+        return allows(order.getProperty(), order.getDirection());
+    }
+
+    /**
+     * 去掉不在白名单中的排序规则
+     *
+     * @return 全部允许时返回原排序规则，全部不允许时返回null
+     */
+    @Nullable
+    public Sort filter(@Nullable Sort sort) {
+        if (sort == null) {
+            return null;
+        }
+        boolean allAllowed = true;
+        for (Order order : sort) {
+            if (!allows(order)) {
+                allAllowed = false;
+                break;
+            }
+        }
+        if (allAllowed) {
+            return sort;
+        }
+        List<Order> allowed = new ArrayList<>();
+        for (Order order : sort) {
+            if (allows(order)) {
+                allowed.add(order);
+            }
+        }
+        return allowed.isEmpty() ? null : Sort.of(allowed);
+    }
+
+    /**
+     * 校验排序规则
+     *
+     * @throws PageRequestException 存在不在白名单中的排序规则
+     */
+    public void check(@Nullable Sort sort) {
+        if (sort == null) {
+            return;
+        }
+        for (Order order : sort) {
+            if (!allows(order)) {
+                throw new PageRequestException("sort is not allowed: " + order.toQueryString());
+            }
+        }
+    }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    private static byte _toBit(Direction direction) {
+        return direction == Direction.ASC ? ASC : DESC;
+    }
+
+    /**
+     * 按先序给节点编号，写入扁平化的数组
+     */
+    private static void _flatten(Node node, int id, int[] next, char[][] labels, int[][] children, byte[] directions) {
+        int size = node.children.size();
+        labels[id] = new char[size];
+        children[id] = new int[size];
+        directions[id] = node.directions;
+        int i = 0;
+        for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+            int childId = next[0]++;
+            labels[id][i] = entry.getKey();
+            children[id][i] = childId;
+            _flatten(entry.getValue(), childId, next, labels, children, directions);
+            i++;
+        }
+    }
+
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private byte directions;
+    }
+}
@@ -1,11 +1,13 @@
 package com.shimao.iot.core;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.lang.NonNull;
 
 import java.util.Objects;
 
 /**
- * Add some description about this class.
+ * 属性命名规则转换
  *
  * @author striver.cradle
  */
@@ -13,7 +15,25 @@ public class NamingStrategy {
 
     public static final NamingStrategy SAME_CASE = new NamingStrategy();
 
-    public static final NamingStrategy SNAKE_CASE = new SnakeCaseStrategy();
+    /**
+     * 驼峰 -> 下划线，如userName -> user_name
+     */
+    public static final NamingStrategy SNAKE_CASE = new SeparatorCaseStrategy('_', false);
+
+    /**
+     * 驼峰 -> 大写下划线，如userName -> USER_NAME
+     */
+    public static final NamingStrategy UPPER_SNAKE_CASE = new SeparatorCaseStrategy('_', true);
+
+    /**
+     * 驼峰 -> 中划线，如userName -> user-name
+     */
+    public static final NamingStrategy KEBAB_CASE = new SeparatorCaseStrategy('-', false);
+
+    /**
+     * 下划线 -> 驼峰，如user_name -> userName
+     */
+    public static final NamingStrategy CAMEL_CASE = new CamelCaseStrategy();
 
     @NonNull
     public String translate(String name) {
@@ -21,10 +41,62 @@ public class NamingStrategy {
         return name;
     }
 
-    private static class SnakeCaseStrategy extends NamingStrategy {
+    /**
+     * 带缓存的命名规则，属性名通常来自一个很小的固定集合，转换结果缓存后重复使用同一个实例
+     */
+    private abstract static class CachedNamingStrategy extends NamingStrategy {
+
+        private static final int MAXIMUM_SIZE = 1024;
+
+        private final Cache<String, String> cache = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .build();
+
+        @NonNull
         @Override
         public String translate(String name) {
             Objects.requireNonNull(name);
+            if (isTranslated(name)) {
+                return name;
+            }
+            return cache.get(name, this::doTranslate);
+        }
+
+        /**
+         * 判断属性名是否已经符合命名规则，符合则直接返回原属性名，不查缓存也不分配内存
+         */
+        protected abstract boolean isTranslated(CharSequence name);
+
+        protected abstract String doTranslate(String name);
+    }
+
+    private static class SeparatorCaseStrategy extends CachedNamingStrategy {
+
+        private final char separator;
+        private final boolean upperCase;
+
+        SeparatorCaseStrategy(char separator, boolean upperCase) {
+            this.separator = separator;
+            this.upperCase = upperCase;
+        }
+
+        @Override
+        protected boolean isTranslated(CharSequence name) {
+            int length = name.length();
+            if (length == 0 || name.charAt(0) == '_') {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                char c = name.charAt(i);
+                if (upperCase ? !Character.isUpperCase(c) && c != '_' : Character.isUpperCase(c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected String doTranslate(String name) {
             int length = name.length();
             StringBuilder result = new StringBuilder(length * 2);
             int resultLength = 0;
@@ -34,8 +106,9 @@ public class NamingStrategy {
                 if (i > 0 || c != '_') // skip first starting underscore
                 {
                     if (Character.isUpperCase(c)) {
-                        if (!wasPrevTranslated && resultLength > 0 && result.charAt(resultLength - 1) != '_') {
-                            result.append('_');
+                        if (!wasPrevTranslated && resultLength > 0 && result.charAt(resultLength - 1) != '_'
+                                && result.charAt(resultLength - 1) != separator) {
+                            result.append(separator);
                             resultLength++;
                         }
                         c = Character.toLowerCase(c);
@@ -43,11 +116,42 @@ public class NamingStrategy {
                     } else {
                         wasPrevTranslated = false;
                     }
-                    result.append(c);
+                    result.append(upperCase ? Character.toUpperCase(c) : c);
                     resultLength++;
                 }
             }
             return resultLength > 0 ? result.toString() : name;
         }
     }
+
+    private static class CamelCaseStrategy extends CachedNamingStrategy {
+
+        @Override
+        protected boolean isTranslated(CharSequence name) {
+            for (int i = 0; i < name.length(); i++) {
+                if (name.charAt(i) == '_') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        protected String doTranslate(String name) {
+            int length = name.length();
+            StringBuilder result = new StringBuilder(length);
+            boolean upperNext = false;
+            for (int i = 0; i < length; i++) {
+                char c = name.charAt(i);
+                if (c == '_') {
+                    // 开头的下划线直接跳过
+                    upperNext = result.length() > 0;
+                } else {
+                    result.append(upperNext ? Character.toUpperCase(c) : c);
+                    upperNext = false;
+                }
+            }
+            return result.length() > 0 ? result.toString() : name;
+        }
+    }
 }
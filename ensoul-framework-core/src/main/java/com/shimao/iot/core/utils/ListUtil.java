@@ -1,12 +1,22 @@
 package com.shimao.iot.core.utils;
 
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
 import org.javatuples.Pair;
 import org.javatuples.Triplet;
 
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.lang.Boolean.TRUE;
@@ -18,16 +28,33 @@ import static org.javatuples.Triplet.with;
  */
 public class ListUtil {
 
+    /**
+     * 判断两个元素是否相等的默认规则，使用该规则时{@link #differ(List, List, BiPredicate)}会走哈希索引
+     */
+    public static final BiPredicate<Object, Object> EQUALS = Objects::equals;
+
     public static <T> List<T> intersect(List<T> left, List<T> right) {
-        return differ(left, right, Objects::equals).getValue1().stream().map(Pair::getValue0).collect(toList());
+        return differ(left, right).getValue1().stream().map(Pair::getValue0).collect(toList());
+    }
+
+    public static <T, K> List<T> intersect(List<T> left, List<T> right, Function<? super T, ? extends K> key) {
+        return differ(left, right, key, key).getValue1().stream().map(Pair::getValue0).collect(toList());
     }
 
     public static <P, Q> Triplet<List<P>, List<Pair<P, Q>>, List<Q>> differ(List<P> pList, List<Q> qList) {
-        return differ(pList, qList, Objects::equals);
+        return differ(pList, qList, Function.identity(), Function.identity());
     }
 
+    /**
+     * 按自定义规则比较两个集合，复杂度O(n*m)
+     * <p>
+     * 如果equator为{@link #EQUALS}，则改用哈希索引，复杂度O(n+m)
+     */
     public static <P, Q> Triplet<List<P>, List<Pair<P, Q>>, List<Q>> differ(List<P> pList, List<Q> qList,
                                                                             BiPredicate<P, Q> equator) {
+        if (equator == (BiPredicate<?, ?>) EQUALS) {
+            return differ(pList, qList);
+        }
         List<P> pOnly = pList.stream()
                 .filter(p -> !contains(qList, p, (q, p1) -> equator.test(p1, q)))
                 .collect(toList());
@@ -44,6 +71,201 @@ public class ListUtil {
         return with(pOnly, both, qOnly);
     }
 
+    /**
+     * 按键比较两个集合，基于哈希索引，复杂度O(n+m)
+     * <p>
+     * 返回值依次为：仅在pList中的元素、两边都有的元素（p与首个键相同的q配对）、仅在qList中的元素，均保持输入顺序
+     *
+     * @param pKey 获取p的键，键需正确实现equals和hashCode
+     * @param qKey 获取q的键，键需正确实现equals和hashCode
+     */
+    public static <P, Q, K> Triplet<List<P>, List<Pair<P, Q>>, List<Q>> differ(List<P> pList, List<Q> qList,
+                                                                               Function<? super P, ? extends K> pKey,
+                                                                               Function<? super Q, ? extends K> qKey) {
+        Map<K, Q> qIndex = new HashMap<>(Math.max(16, (int) (qList.size() / .75f) + 1));
+        for (Q q : qList) {
+            K key = qKey.apply(q);
+            if (!qIndex.containsKey(key)) {
+                qIndex.put(key, q);
+            }
+        }
+
+        Set<K> pKeys = new HashSet<>(Math.max(16, (int) (pList.size() / .75f) + 1));
+        List<P> pOnly = new ArrayList<>();
+        List<Pair<P, Q>> both = new ArrayList<>();
+        for (P p : pList) {
+            K key = pKey.apply(p);
+            pKeys.add(key);
+            if (qIndex.containsKey(key)) {
+                both.add(Pair.with(p, qIndex.get(key)));
+            } else {
+                pOnly.add(p);
+            }
+        }
+
+        List<Q> qOnly = new ArrayList<>();
+        for (Q q : qList) {
+            if (!pKeys.contains(qKey.apply(q))) {
+                qOnly.add(q);
+            }
+        }
+
+        return with(pOnly, both, qOnly);
+    }
+
+    /**
+     * 按键比较两个已排序的集合，归并比较，复杂度O(n+m)，不需要额外的索引空间
+     * <p>
+     * 两个集合都必须已按comparator升序排列，否则结果不正确
+     *
+     * @param comparator 键的排序规则，需和集合的排序规则一致
+     */
+    public static <P, Q, K> Triplet<List<P>, List<Pair<P, Q>>, List<Q>> differSorted(List<P> pList, List<Q> qList,
+                                                                                     Function<? super P, ? extends K> pKey,
+                                                                                     Function<? super Q, ? extends K> qKey,
+                                                                                     Comparator<? super K> comparator) {
+        List<P> pOnly = new ArrayList<>();
+        List<Pair<P, Q>> both = new ArrayList<>();
+        List<Q> qOnly = new ArrayList<>();
+
+        ListIterator<P> pIterator = pList.listIterator();
+        ListIterator<Q> qIterator = qList.listIterator();
+        P p = pIterator.hasNext() ? pIterator.next() : null;
+        Q q = qIterator.hasNext() ? qIterator.next() : null;
+        boolean pHas = !pList.isEmpty();
+        boolean qHas = !qList.isEmpty();
+        while (pHas && qHas) {
+            K pk = pKey.apply(p);
+            K qk = qKey.apply(q);
+            int c = comparator.compare(pk, qk);
+            if (c < 0) {
+                pOnly.add(p);
+                pHas = pIterator.hasNext();
+                p = pHas ? pIterator.next() : null;
+            } else if (c > 0) {
+                qOnly.add(q);
+                qHas = qIterator.hasNext();
+                q = qHas ? qIterator.next() : null;
+            } else {
+                // 键相同的p都和首个键相同的q配对，其余键相同的q视为已匹配
+                Q matched = q;
+                do {
+                    both.add(Pair.with(p, matched));
+                    pHas = pIterator.hasNext();
+                    p = pHas ? pIterator.next() : null;
+                } while (pHas && comparator.compare(pKey.apply(p), qk) == 0);
+                do {
+                    qHas = qIterator.hasNext();
+                    q = qHas ? qIterator.next() : null;
+                } while (qHas && comparator.compare(qKey.apply(q), qk) == 0);
+            }
+        }
+        while (pHas) {
+            pOnly.add(p);
+            pHas = pIterator.hasNext();
+            p = pHas ? pIterator.next() : null;
+        }
+        while (qHas) {
+            qOnly.add(q);
+            qHas = qIterator.hasNext();
+            q = qHas ? qIterator.next() : null;
+        }
+
+        return with(pOnly, both, qOnly);
+    }
+
+    /**
+     * 并行比较的阈值，两个集合的元素总数小于该值时，{@link #parallelDiffer}退化为顺序的{@link #differ(List, List,
+     * Function, Function)}，数据量小时拆分分片、调度线程的开销大于并行带来的收益
+     */
+    public static final int PARALLEL_DIFFER_THRESHOLD = 1 << 14;
+
+    /**
+     * 按键并行比较两个集合，使用{@link ForkJoinPool#commonPool()}
+     *
+     * @see #parallelDiffer(List, List, Function, Function, ForkJoinPool)
+     */
+    public static <P, Q, K> Triplet<List<P>, List<Pair<P, Q>>, List<Q>> parallelDiffer(List<P> pList, List<Q> qList,
+                                                                                       Function<? super P, ? extends K> pKey,
+                                                                                       Function<? super Q, ? extends K> qKey) {
+        return parallelDiffer(pList, qList, pKey, qKey, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 按键并行比较两个集合，结果与{@link #differ(List, List, Function, Function)}一致，且保持输入顺序
+     * <p>
+     * 两个集合按键的哈希值拆分成多个分片，每个分片在pool中独立建立索引并比较，最后按输入顺序合并结果。
+     * 两个集合的元素总数小于{@link #PARALLEL_DIFFER_THRESHOLD}时退化为顺序比较
+     *
+     * @param pKey 获取p的键，键需正确实现equals和hashCode，且必须是线程安全的
+     * @param qKey 获取q的键，键需正确实现equals和hashCode，且必须是线程安全的
+     * @param pool 执行比较的线程池
+     */
+    public static <P, Q, K> Triplet<List<P>, List<Pair<P, Q>>, List<Q>> parallelDiffer(List<P> pList, List<Q> qList,
+                                                                                       Function<? super P, ? extends K> pKey,
+                                                                                       Function<? super Q, ? extends K> qKey,
+                                                                                       ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        if (pList.size() + qList.size() < PARALLEL_DIFFER_THRESHOLD || pool.getParallelism() < 2) {
+            return differ(pList, qList, pKey, qKey);
+        }
+        List<P> ps = pList instanceof RandomAccess ? pList : new ArrayList<>(pList);
+        List<Q> qs = qList instanceof RandomAccess ? qList : new ArrayList<>(qList);
+        int pSize = ps.size();
+        int qSize = qs.size();
+
+        // 分片数取2的幂，保证每个线程能分到多个分片以平衡负载
+        int shardCount = Integer.highestOneBit(pool.getParallelism() * 4 - 1) << 1;
+        Object[] pKeys = new Object[pSize];
+        Object[] qKeys = new Object[qSize];
+        // 每个p匹配到的q的下标，-1表示没有匹配
+        int[] pMatched = new int[pSize];
+        boolean[] qMatched = new boolean[qSize];
+
+        pool.invoke(ForkJoinTask.adapt(() -> {
+            IntStream.range(0, pSize).parallel().forEach(i -> pKeys[i] = pKey.apply(ps.get(i)));
+            IntStream.range(0, qSize).parallel().forEach(j -> qKeys[j] = qKey.apply(qs.get(j)));
+        }));
+
+        int[][] pShards = _shard(pKeys, shardCount);
+        int[][] qShards = _shard(qKeys, shardCount);
+
+        pool.invoke(ForkJoinTask.adapt(() -> IntStream.range(0, shardCount).parallel().forEach(shard -> {
+            int[] pIndexes = pShards[shard];
+            int[] qIndexes = qShards[shard];
+            Map<Object, Integer> qIndex = new HashMap<>(Math.max(16, (int) (qIndexes.length / .75f) + 1));
+            for (int j : qIndexes) {
+                qIndex.putIfAbsent(qKeys[j], j);
+            }
+            Set<Object> shardPKeys = new HashSet<>(Math.max(16, (int) (pIndexes.length / .75f) + 1));
+            for (int i : pIndexes) {
+                shardPKeys.add(pKeys[i]);
+                pMatched[i] = qIndex.getOrDefault(pKeys[i], -1);
+            }
+            for (int j : qIndexes) {
+                qMatched[j] = shardPKeys.contains(qKeys[j]);
+            }
+        })));
+
+        List<P> pOnly = new ArrayList<>();
+        List<Pair<P, Q>> both = new ArrayList<>();
+        for (int i = 0; i < pSize; i++) {
+            if (pMatched[i] < 0) {
+                pOnly.add(ps.get(i));
+            } else {
+                both.add(Pair.with(ps.get(i), qs.get(pMatched[i])));
+            }
+        }
+        List<Q> qOnly = new ArrayList<>();
+        for (int j = 0; j < qSize; j++) {
+            if (!qMatched[j]) {
+                qOnly.add(qs.get(j));
+            }
+        }
+
+        return with(pOnly, both, qOnly);
+    }
+
     public static <T, U> boolean contains(List<T> list, U u, BiPredicate<T, U> equator) {
         return list.stream().anyMatch(t -> equator.test(t, u));
     }
@@ -66,6 +288,58 @@ public class ListUtil {
         return t -> seen.putIfAbsent(keySelector.apply(t), TRUE) == null;
     }
 
+    /**
+     * 线程安全的{@link #distinctByKey(Function)}，可用于并行流
+     */
+    public static <T> Predicate<T> concurrentDistinctByKey(Function<? super T, ?> keySelector) {
+        Set<Object> seen = ConcurrentHashMap.newKeySet();
+        return t -> seen.add(keySelector.apply(t));
+    }
+
+    /**
+     * 按long类型的键去重，键保存在开放寻址的原始类型集合中，没有装箱开销，线程安全
+     */
+    public static <T> Predicate<T> distinctByLongKey(ToLongFunction<? super T> keySelector) {
+        LongHashSet seen = new LongHashSet();
+        return t -> seen.add(keySelector.applyAsLong(t));
+    }
+
+    /**
+     * 按int类型的键去重，键保存在开放寻址的原始类型集合中，没有装箱开销，线程安全
+     */
+    public static <T> Predicate<T> distinctByIntKey(ToIntFunction<? super T> keySelector) {
+        LongHashSet seen = new LongHashSet();
+        return t -> seen.add(keySelector.applyAsInt(t));
+    }
+
+    /**
+     * 按键近似去重，已出现的键记录在布隆过滤器中，内存占用只取决于expectedInsertions和fpp，线程安全
+     * <p>
+     * 注：有fpp的概率把未出现过的元素误判为重复而过滤掉，但不会放过重复的元素，适合对海量手机号、设备ID等去重
+     *
+     * @param funnel             键的序列化方式
+     * @param expectedInsertions 预计的不重复键数量，超出后误判率会上升
+     * @param fpp                期望的误判率，必须在(0, 1)之间
+     */
+    public static <T, K> Predicate<T> approximateDistinctByKey(Function<? super T, ? extends K> keySelector,
+                                                              Funnel<? super K> funnel,
+                                                              long expectedInsertions,
+                                                              double fpp) {
+        BloomFilter<K> seen = BloomFilter.create(funnel, expectedInsertions, fpp);
+        return t -> seen.put(keySelector.apply(t));
+    }
+
+    /**
+     * 按字符串类型的键近似去重
+     *
+     * @see #approximateDistinctByKey(Function, Funnel, long, double)
+     */
+    public static <T> Predicate<T> approximateDistinctByKey(Function<? super T, String> keySelector,
+                                                           long expectedInsertions,
+                                                           double fpp) {
+        return approximateDistinctByKey(keySelector, Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, fpp);
+    }
+
     /**
      * 并集
      */
@@ -96,6 +370,48 @@ public class ListUtil {
         return result;
     }
 
+    /**
+     * 并集的只读视图，不复制元素，支持按下标随机访问（复杂度O(log k)，k为集合个数）
+     * <p>
+     * 注：视图创建后各集合的大小不应再变化
+     */
+    @SafeVarargs
+    public static <T> List<T> unionView(List<? extends T> list, List<? extends T>... moreLists) {
+        if (moreLists.length == 0) {
+            return Collections.unmodifiableList(list);
+        }
+        List<? extends T>[] segments = Arrays.copyOf(moreLists, moreLists.length + 1);
+        System.arraycopy(segments, 0, segments, 1, moreLists.length);
+        segments[0] = list;
+        return new ConcatList<>(segments);
+    }
+
+    /**
+     * 添加元素后的只读视图，不复制原集合
+     *
+     * @see #unionView(List, List[])
+     */
+    @SafeVarargs
+    public static <T> List<T> addView(List<? extends T> list, T... moreElements) {
+        return unionView(list, Arrays.asList(moreElements));
+    }
+
+    /**
+     * 并集的流，按顺序依次读取各集合，不复制元素
+     */
+    @SafeVarargs
+    public static <T> Stream<T> unionStream(List<? extends T> list, List<? extends T>... moreLists) {
+        return Stream.concat(Stream.of(list), Stream.of(moreLists)).flatMap(List::stream);
+    }
+
+    /**
+     * 并集的迭代器，按顺序依次读取各集合，不复制元素
+     */
+    @SafeVarargs
+    public static <T> Iterator<T> unionIterator(List<? extends T> list, List<? extends T>... moreLists) {
+        return ListUtil.<T>unionView(list, moreLists).iterator();
+    }
+
     /**
      * 集合转化成数组
      */
@@ -112,4 +428,154 @@ public class ListUtil {
     public static <T> boolean isSingle(List<T> list) {
         return list != null && list.size() == 1;
     }
+
+    /*-------------------------------私有方法-------------------------------*/
+
+    /**
+     * 按键的哈希值把下标拆分到各个分片，分片内保持原有顺序
+     */
+    private static int[][] _shard(Object[] keys, int shardCount) {
+        int[] shardOf = new int[keys.length];
+        int[] counts = new int[shardCount];
+        for (int i = 0; i < keys.length; i++) {
+            int h = Objects.hashCode(keys[i]);
+            shardOf[i] = (h ^ (h >>> 16)) & (shardCount - 1);
+            counts[shardOf[i]]++;
+        }
+        int[][] shards = new int[shardCount][];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards[shard] = new int[counts[shard]];
+            counts[shard] = 0;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            shards[shardOf[i]][counts[shardOf[i]]++] = i;
+        }
+        return shards;
+    }
+
+    /**
+     * 开放寻址的long集合，用于{@link #distinctByLongKey}和{@link #distinctByIntKey}，只支持添加
+     */
+    private static final class LongHashSet {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        // 0作为空槽位的标记，键为0时单独记录
+        private long[] table = new long[INITIAL_CAPACITY];
+        private boolean containsZero;
+        private int size;
+
+        synchronized boolean add(long key) {
+            if (key == 0) {
+                if (containsZero) {
+                    return false;
+                }
+                containsZero = true;
+                return true;
+            }
+            int mask = table.length - 1;
+            int i = _mix(key) & mask;
+            while (table[i] != 0) {
+                if (table[i] == key) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = key;
+            // 装载因子0.5
+            if (++size << 1 > table.length) {
+                _rehash();
+            }
+            return true;
+        }
+
+        private void _rehash() {
+            long[] old = table;
+            table = new long[old.length << 1];
+            int mask = table.length - 1;
+            for (long key : old) {
+                if (key != 0) {
+                    int i = _mix(key) & mask;
+                    while (table[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = key;
+                }
+            }
+        }
+
+        private static int _mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * 多个集合首尾相连的只读视图，用于{@link #unionView}
+     */
+    private static final class ConcatList<T> extends AbstractList<T> implements RandomAccess {
+
+        private final List<? extends T>[] segments;
+        // offsets[i]为第i个集合首个元素在视图中的下标，最后一项为视图大小
+        private final int[] offsets;
+
+        ConcatList(List<? extends T>[] segments) {
+            this.segments = segments;
+            this.offsets = new int[segments.length + 1];
+            for (int i = 0; i < segments.length; i++) {
+                offsets[i + 1] = offsets[i] + segments[i].size();
+            }
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+            int segment = Arrays.binarySearch(offsets, index);
+            if (segment < 0) {
+                segment = -segment - 2;
+            } else {
+                // 跳过空集合，找到首个包含该下标的集合
+                while (offsets[segment + 1] == index) {
+                    segment++;
+                }
+            }
+            return segments[segment].get(index - offsets[segment]);
+        }
+
+        @Override
+        public int size() {
+            return offsets[segments.length];
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int segment;
+                private Iterator<? extends T> current = segments[0].iterator();
+
+                @Override
+                public boolean hasNext() {
+                    while (!current.hasNext() && segment < segments.length - 1) {
+                        current = segments[++segment].iterator();
+                    }
+                    return current.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return current.next();
+                }
+            };
+        }
+
+        @Override
+        public Stream<T> stream() {
+            return Stream.of(segments).flatMap(List::stream);
+        }
+    }
 }
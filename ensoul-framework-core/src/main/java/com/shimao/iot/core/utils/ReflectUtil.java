@@ -1,18 +1,41 @@
 package com.shimao.iot.core.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.NonNull;
+import lombok.Value;
 
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.stream.Collectors.collectingAndThen;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -20,15 +43,37 @@ import static java.util.stream.Collectors.toList;
  */
 public abstract class ReflectUtil {
 
-    private static LoadingCache<Class<?>, List<Method>> methodsCache = Caffeine.newBuilder()
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static LoadingCache<Class<?>, MethodIndex> methodsCache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(1, DAYS)
+            .build(c -> new MethodIndex(c.getMethods()));
+
+    private static LoadingCache<Class<?>, MethodIndex> declareMethodsCache = Caffeine.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(1, DAYS)
-            .build(ReflectUtil::_getMethods);
+            .build(c -> new MethodIndex(c.getDeclaredMethods()));
 
-    private static LoadingCache<Class<?>, List<Method>> declareMethodsCache = Caffeine.newBuilder()
+    private static Cache<GenericTypeKey, Class<?>[]> genericTypesCache = Caffeine.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(1, DAYS)
-            .build(ReflectUtil::_getDeclareMethods);
+            .build();
+
+    private static Cache<MemberKey, Optional<Function<Object, Object>>> gettersCache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(1, DAYS)
+            .build();
+
+    private static Cache<MemberKey, Optional<BiConsumer<Object, Object>>> settersCache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(1, DAYS)
+            .build();
+
+    private static Cache<MemberKey, Optional<Function<Object, Object>>> invokersCache = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(1, DAYS)
+            .build();
 
     /**
      * 获取父类/父接口中首个泛型的类型，找不到则抛异常{@link RuntimeException}
@@ -67,6 +112,8 @@ public abstract class ReflectUtil {
 
     /**
      * 获取父类/父接口中泛型的类型
+     * <p>
+     * 会沿整个继承链查找，并解析中间类传递下来的类型变量，结果按(clazz, superClassOrInterface)缓存
      *
      * @param clazz                 当前类的类型
      * @param superClassOrInterface 父类/父接口的类型
@@ -79,20 +126,12 @@ public abstract class ReflectUtil {
         if (clazz == null || superClassOrInterface == null || index < 0) {
             return Optional.empty();
         }
-        Stream<Type> genericInterfaces = Stream.of(clazz.getGenericInterfaces());
-        Stream<Type> genericSuperclass = Stream.of(clazz.getGenericSuperclass());
-        List<Class<T>> genericSupertypes = Stream.concat(genericInterfaces, genericSuperclass)
-                .filter(type -> type instanceof ParameterizedType)
-                .map(type -> (ParameterizedType) type)
-                .filter(type -> type.getRawType().getTypeName().equals(superClassOrInterface.getName()))
-                .flatMap(type -> Stream.of(type.getActualTypeArguments()))
-                .filter(type -> type instanceof Class<?>)
-                .map(type -> (Class<T>) type)
-                .collect(toList());
-        if (index > genericSupertypes.size() - 1) {
+        Class<?>[] genericSupertypes = genericTypesCache.get(new GenericTypeKey(clazz, superClassOrInterface),
+                key -> _resolveSuperGenericTypes(clazz, superClassOrInterface));
+        if (index > genericSupertypes.length - 1) {
             return Optional.empty();
         }
-        return Optional.of(genericSupertypes.get(index));
+        return Optional.ofNullable((Class<T>) genericSupertypes[index]);
     }
 
     public static List<Method> findMethods(@NonNull Class<?> c, String methodName) {
@@ -112,10 +151,94 @@ public abstract class ReflectUtil {
     }
 
     /**
-     * Returns method from an object, matched by name. This may be considered as
-     * a slow operation, since methods are matched one by one.
-     * Returns only accessible methods.
-     * Only first method is matched.
+     * 获取属性的getter（getXxx或isXxx），找不到则抛异常{@link IllegalArgumentException}
+     *
+     * @see #findGetter(Class, String)
+     */
+    public static <T, R> Function<T, R> getGetter(@NonNull Class<T> c, String property) {
+        return ReflectUtil.<T, R>findGetter(c, property)
+                .orElseThrow(() -> new IllegalArgumentException(c + " has no getter for property " + property));
+    }
+
+    /**
+     * 获取属性的getter（getXxx或isXxx），按类和属性名缓存
+     * <p>
+     * 优先用{@link LambdaMetafactory}生成函数，调用开销接近直接调用；无法生成时退化为{@link MethodHandle}
+     *
+     * @param c        类的类型
+     * @param property 属性名
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> Optional<Function<T, R>> findGetter(@NonNull Class<T> c, String property) {
+        Optional<Function<Object, Object>> getter = gettersCache.get(new MemberKey(c, property), key ->
+                _findGetterMethod(c, property).map(ReflectUtil::_toFunction));
+        return (Optional<Function<T, R>>) (Optional<?>) getter;
+    }
+
+    /**
+     * 获取属性的getter方法（getXxx或isXxx）
+     *
+     * @param c        类的类型
+     * @param property 属性名
+     */
+    public static Optional<Method> findGetterMethod(@NonNull Class<?> c, String property) {
+        return _findGetterMethod(c, property);
+    }
+
+    /**
+     * 获取属性的setter（setXxx），找不到则抛异常{@link IllegalArgumentException}
+     *
+     * @see #findSetter(Class, String)
+     */
+    public static <T, V> BiConsumer<T, V> getSetter(@NonNull Class<T> c, String property) {
+        return ReflectUtil.<T, V>findSetter(c, property)
+                .orElseThrow(() -> new IllegalArgumentException(c + " has no setter for property " + property));
+    }
+
+    /**
+     * 获取属性的setter（setXxx），按类和属性名缓存
+     * <p>
+     * 优先用{@link LambdaMetafactory}生成函数，调用开销接近直接调用；无法生成时退化为{@link MethodHandle}
+     *
+     * @param c        类的类型
+     * @param property 属性名
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, V> Optional<BiConsumer<T, V>> findSetter(@NonNull Class<T> c, String property) {
+        Optional<BiConsumer<Object, Object>> setter = settersCache.get(new MemberKey(c, property), key ->
+                _findSetterMethod(c, property).map(ReflectUtil::_toBiConsumer));
+        return (Optional<BiConsumer<T, V>>) (Optional<?>) setter;
+    }
+
+    /**
+     * 获取无参方法的调用函数，找不到则抛异常{@link IllegalArgumentException}
+     *
+     * @see #findInvoker(Class, String)
+     */
+    public static <T, R> Function<T, R> getInvoker(@NonNull Class<T> c, String methodName) {
+        return ReflectUtil.<T, R>findInvoker(c, methodName)
+                .orElseThrow(() -> new IllegalArgumentException(c + " has no no-arg method " + methodName));
+    }
+
+    /**
+     * 获取public无参方法的调用函数，按类和方法名缓存，void方法的函数返回null
+     * <p>
+     * 优先用{@link LambdaMetafactory}生成函数，调用开销接近直接调用；无法生成时退化为{@link MethodHandle}
+     *
+     * @param c          类的类型
+     * @param methodName 方法名
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> Optional<Function<T, R>> findInvoker(@NonNull Class<T> c, String methodName) {
+        Optional<Function<Object, Object>> invoker = invokersCache.get(new MemberKey(c, methodName), key ->
+                _findNoArgMethod(c, methodName).map(ReflectUtil::_toFunction));
+        return (Optional<Function<T, R>>) (Optional<?>) invoker;
+    }
+
+    /**
+     * Returns methods from an object, matched by name. Methods are indexed by name once per class,
+     * so this is a single hash lookup.
+     * The returned list is immutable and shared between callers.
      *
      * @param c              class to examine
      * @param methodName     name of the method
@@ -124,19 +247,245 @@ public abstract class ReflectUtil {
      */
     private static List<Method> _findMethods(@NonNull Class<?> c, String methodName, boolean includeDefault,
                                              boolean publicOnly) {
-        List<Method> methods = publicOnly ? methodsCache.get(c) : declareMethodsCache.get(c);
-        Objects.requireNonNull(methods);
-        return methods.stream()
-                .filter(method -> includeDefault || !method.isDefault())
-                .filter(method -> Objects.equals(methodName, method.getName()))
-                .collect(toList());
+        MethodIndex index = publicOnly ? methodsCache.get(c) : declareMethodsCache.get(c);
+        Objects.requireNonNull(index);
+        return index.find(methodName, includeDefault);
+    }
+
+    /**
+     * 沿clazz的继承链查找superClassOrInterface，返回其泛型参数解析后的类型，无法解析的参数为null，找不到则返回空数组
+     */
+    private static Class<?>[] _resolveSuperGenericTypes(Class<?> clazz, Class<?> superClassOrInterface) {
+        Class<?>[] resolved = _resolveSuperGenericTypes(clazz, Collections.emptyMap(), superClassOrInterface,
+                new HashSet<>());
+        return resolved == null ? new Class<?>[0] : resolved;
     }
 
-    private static List<Method> _getMethods(@NonNull Class<?> c) {
-        return Stream.of(c.getMethods()).collect(toList());
+    private static Class<?>[] _resolveSuperGenericTypes(Class<?> clazz, Map<TypeVariable<?>, Type> bindings,
+                                                        Class<?> superClassOrInterface, Set<Class<?>> visited) {
+        if (!visited.add(clazz)) {
+            return null;
+        }
+        List<Type> genericSupertypes = new ArrayList<>(Arrays.asList(clazz.getGenericInterfaces()));
+        if (clazz.getGenericSuperclass() != null) {
+            genericSupertypes.add(clazz.getGenericSuperclass());
+        }
+        for (Type type : genericSupertypes) {
+            Class<?> raw;
+            Map<TypeVariable<?>, Type> superBindings;
+            if (type instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) type;
+                raw = (Class<?>) parameterizedType.getRawType();
+                Type[] arguments = parameterizedType.getActualTypeArguments();
+                TypeVariable<?>[] variables = raw.getTypeParameters();
+                superBindings = new HashMap<>(variables.length * 2);
+                for (int i = 0; i < variables.length; i++) {
+                    superBindings.put(variables[i], _substitute(arguments[i], bindings));
+                }
+                if (raw.getName().equals(superClassOrInterface.getName())) {
+                    return Stream.of(variables).map(superBindings::get).map(ReflectUtil::_toClass)
+                            .toArray(Class<?>[]::new);
+                }
+            } else if (type instanceof Class<?>) {
+                // 原始类型的继承，泛型信息已丢失
+                raw = (Class<?>) type;
+                superBindings = Collections.emptyMap();
+            } else {
+                continue;
+            }
+            Class<?>[] resolved = _resolveSuperGenericTypes(raw, superBindings, superClassOrInterface, visited);
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        return null;
     }
 
-    private static List<Method> _getDeclareMethods(@NonNull Class<?> c) {
-        return Stream.of(c.getDeclaredMethods()).collect(toList());
+    private static Type _substitute(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof TypeVariable<?> && bindings.containsKey(type)) {
+            return bindings.get(type);
+        }
+        return type;
+    }
+
+    private static Class<?> _toClass(Type type) {
+        if (type instanceof Class<?>) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            Class<?> component = _toClass(((GenericArrayType) type).getGenericComponentType());
+            return component == null ? null : Array.newInstance(component, 0).getClass();
+        }
+        // 未绑定的类型变量和通配符
+        return null;
+    }
+
+    private static Optional<Method> _findGetterMethod(Class<?> c, String property) {
+        if (property == null || property.isEmpty()) {
+            return Optional.empty();
+        }
+        String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        Optional<Method> getter = _findNoArgMethod(c, "get" + suffix)
+                .filter(method -> method.getReturnType() != void.class);
+        if (getter.isPresent()) {
+            return getter;
+        }
+        return _findNoArgMethod(c, "is" + suffix)
+                .filter(method -> method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class);
+    }
+
+    private static Optional<Method> _findSetterMethod(Class<?> c, String property) {
+        if (property == null || property.isEmpty()) {
+            return Optional.empty();
+        }
+        String name = "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        return findMethods(c, name).stream()
+                .filter(method -> !Modifier.isStatic(method.getModifiers()))
+                .filter(method -> method.getParameterCount() == 1)
+                .min(Comparator.comparing(Method::isBridge));
+    }
+
+    private static Optional<Method> _findNoArgMethod(Class<?> c, String methodName) {
+        return findMethods(c, methodName).stream()
+                .filter(method -> !Modifier.isStatic(method.getModifiers()))
+                .filter(method -> method.getParameterCount() == 0)
+                // 协变返回类型会产生同名的桥接方法，优先取非桥接方法
+                .min(Comparator.comparing(Method::isBridge));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> _toFunction(Method method) {
+        MethodHandle handle = _unreflect(method);
+        Class<?> c = method.getDeclaringClass();
+        if (_isVisible(c) && _isVisible(method.getReturnType())) {
+            try {
+                MethodType instantiated = MethodType.methodType(_wrap(method.getReturnType()), c);
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", MethodType.methodType(Function.class),
+                        MethodType.methodType(Object.class, Object.class), handle, instantiated);
+                return (Function<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable ignored) {
+                // 退化为MethodHandle
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.genericMethodType(1));
+        return t -> {
+            try {
+                return generic.invokeExact(t);
+            } catch (Throwable e) {
+                throw _propagate(e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> _toBiConsumer(Method method) {
+        MethodHandle handle = _unreflect(method);
+        Class<?> c = method.getDeclaringClass();
+        if (_isVisible(c) && _isVisible(method.getParameterTypes()[0])) {
+            try {
+                MethodType instantiated = MethodType.methodType(void.class, c, _wrap(method.getParameterTypes()[0]));
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", MethodType.methodType(BiConsumer.class),
+                        MethodType.methodType(void.class, Object.class, Object.class), handle, instantiated);
+                return (BiConsumer<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable ignored) {
+                // 退化为MethodHandle
+            }
+        }
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (t, v) -> {
+            try {
+                generic.invokeExact(t, v);
+            } catch (Throwable e) {
+                throw _propagate(e);
+            }
+        };
+    }
+
+    private static MethodHandle _unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            // public方法声明在非public类中时需要先设置可访问
+            try {
+                method.setAccessible(true);
+                return LOOKUP.unreflect(method);
+            } catch (IllegalAccessException | RuntimeException ex) {
+                throw new RuntimeException("Cannot access method " + method, ex);
+            }
+        }
+    }
+
+    /**
+     * 生成的函数定义在ReflectUtil的类加载器中，只有该加载器能加载到目标类时才能使用{@link LambdaMetafactory}
+     */
+    private static boolean _isVisible(Class<?> c) {
+        if (c.isPrimitive()) {
+            return true;
+        }
+        if (!Modifier.isPublic(c.getModifiers())) {
+            return false;
+        }
+        try {
+            return Class.forName(c.getName(), false, ReflectUtil.class.getClassLoader()) == c;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Class<?> _wrap(Class<?> c) {
+        return c.isPrimitive() ? MethodType.methodType(c).wrap().returnType() : c;
+    }
+
+    private static RuntimeException _propagate(Throwable e) {
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+    }
+
+    /**
+     * 泛型解析缓存的键：当前类+父类/父接口
+     */
+    @Value
+    private static class GenericTypeKey {
+        Class<?> type;
+        Class<?> superType;
+    }
+
+    /**
+     * 访问器缓存的键：类+成员名
+     */
+    @Value
+    private static class MemberKey {
+        Class<?> type;
+        String name;
+    }
+
+    /**
+     * 单个类的方法索引，按方法名分组，并区分是否包含默认方法
+     */
+    private static final class MethodIndex {
+
+        private final Map<String, List<Method>> methods;
+        private final Map<String, List<Method>> nonDefaultMethods;
+
+        MethodIndex(Method[] methods) {
+            this.methods = _group(Stream.of(methods));
+            this.nonDefaultMethods = _group(Stream.of(methods).filter(method -> !method.isDefault()));
+        }
+
+        List<Method> find(String methodName, boolean includeDefault) {
+            Map<String, List<Method>> index = includeDefault ? methods : nonDefaultMethods;
+            return index.getOrDefault(methodName, Collections.emptyList());
+        }
+
+        private static Map<String, List<Method>> _group(Stream<Method> methods) {
+            Map<String, List<Method>> index = methods.collect(groupingBy(Method::getName, HashMap::new,
+                    collectingAndThen(toList(), Collections::unmodifiableList)));
+            return Collections.unmodifiableMap(index);
+        }
     }
 }